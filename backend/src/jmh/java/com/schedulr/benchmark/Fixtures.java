@@ -0,0 +1,115 @@
+package com.schedulr.benchmark;
+
+import com.schedulr.entity.AvailabilityRule;
+import com.schedulr.entity.Booking;
+import com.schedulr.entity.EventType;
+import com.schedulr.entity.User;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic test data shared by the benchmarks.
+ */
+public final class Fixtures {
+
+    public static final long HOST_ID = 1L;
+
+    private Fixtures() {
+    }
+
+    public static User host() {
+        return User.builder()
+                .id(HOST_ID)
+                .name("Bench Host")
+                .email("host@bench.test")
+                .username("benchhost")
+                .password("unused")
+                .timezone("UTC")
+                .role("USER")
+                .active(true)
+                .build();
+    }
+
+    public static User member(long id, String timezone) {
+        return User.builder()
+                .id(id)
+                .name("Bench Member " + id)
+                .email("member" + id + "@bench.test")
+                .username("benchmember" + id)
+                .password("unused")
+                .timezone(timezone)
+                .role("USER")
+                .active(true)
+                .build();
+    }
+
+    public static EventType eventType(User host, int durationMinutes, int bufferMinutes) {
+        return EventType.builder()
+                .id(10L)
+                .user(host)
+                .name(durationMinutes + " minute meeting")
+                .durationMinutes(durationMinutes)
+                .bufferBefore(bufferMinutes)
+                .bufferAfter(bufferMinutes)
+                .active(true)
+                .build();
+    }
+
+    /** Monday to Friday, 09:00 to 17:00. */
+    public static List<AvailabilityRule> workWeek(User host) {
+        List<AvailabilityRule> rules = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY) {
+                rules.add(AvailabilityRule.builder()
+                        .user(host)
+                        .dayOfWeek(day.name())
+                        .startTime(LocalTime.of(9, 0))
+                        .endTime(LocalTime.of(17, 0))
+                        .isAvailable(true)
+                        .build());
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Non-overlapping bookings covering roughly {@code density} of each working day
+     * in [from, to], placed on a 15 minute grid.
+     */
+    public static List<Booking> bookings(User host, EventType eventType, LocalDate from, LocalDate to,
+            double density, long seed) {
+        Random random = new Random(seed);
+        List<Booking> bookings = new ArrayList<>();
+        long id = 1;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDateTime cursor = day.atTime(9, 0);
+            LocalDateTime dayEnd = day.atTime(17, 0);
+            while (cursor.isBefore(dayEnd)) {
+                int length = 15 * (1 + random.nextInt(4));
+                LocalDateTime end = cursor.plusMinutes(length);
+                if (!end.isAfter(dayEnd) && random.nextDouble() < density) {
+                    bookings.add(Booking.builder()
+                            .id(id++)
+                            .host(host)
+                            .eventType(eventType)
+                            .guestName("Guest " + id)
+                            .guestEmail("guest" + id + "@bench.test")
+                            .startTime(cursor)
+                            .endTime(end)
+                            .status("BOOKED")
+                            .meetingLink("https://meet.google.com/abc-defg-hij")
+                            .createdAt(cursor.minusDays(3))
+                            .build());
+                }
+                cursor = end;
+            }
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,56 @@
+package com.schedulr.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Builds Spring Data repository fakes backed by plain lambdas, so benchmarks run
+ * without a database. Only the methods given a handler are supported; any other
+ * call fails loudly instead of silently returning null.
+ */
+public final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    public static <R> Builder<R> of(Class<R> repositoryType) {
+        return new Builder<>(repositoryType);
+    }
+
+    public static final class Builder<R> {
+
+        private final Class<R> repositoryType;
+        private final Map<String, Function<Object[], Object>> handlers = new HashMap<>();
+
+        private Builder(Class<R> repositoryType) {
+            this.repositoryType = repositoryType;
+        }
+
+        public Builder<R> on(String methodName, Function<Object[], Object> handler) {
+            handlers.put(methodName, handler);
+            return this;
+        }
+
+        public R build() {
+            Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] { repositoryType },
+                    (self, method, args) -> {
+                        if (method.getDeclaringClass() == Object.class) {
+                            return switch (method.getName()) {
+                                case "equals" -> self == args[0];
+                                case "hashCode" -> System.identityHashCode(self);
+                                default -> "InMemory" + repositoryType.getSimpleName();
+                            };
+                        }
+                        Function<Object[], Object> handler = handlers.get(method.getName());
+                        if (handler == null) {
+                            throw new UnsupportedOperationException(
+                                    repositoryType.getSimpleName() + "." + method.getName() + " is not faked");
+                        }
+                        return handler.apply(args);
+                    });
+            return repositoryType.cast(proxy);
+        }
+    }
+}
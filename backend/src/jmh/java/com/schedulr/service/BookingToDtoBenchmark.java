@@ -0,0 +1,60 @@
+package com.schedulr.service;
+
+import com.schedulr.benchmark.Fixtures;
+import com.schedulr.dto.booking.BookingDto;
+import com.schedulr.entity.Booking;
+import com.schedulr.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of one booking and of a full listing page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingToDtoBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private BookingService bookingService;
+    private Booking booking;
+    private List<Booking> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // toDto only reads the entity, so none of the collaborators are needed
+        bookingService = new BookingService(null, null, null, null, null, null, null, null, null, null, null, null, null);
+        User host = Fixtures.host();
+        LocalDate from = LocalDate.now().plusDays(1);
+        page = Fixtures.bookings(host, Fixtures.eventType(host, 30, 0), from, from.plusDays(30), 1.0, 7)
+                .subList(0, PAGE_SIZE);
+        booking = page.get(0);
+    }
+
+    @Benchmark
+    public BookingDto single() {
+        return bookingService.toDto(booking);
+    }
+
+    @Benchmark
+    public List<BookingDto> page() {
+        return page.stream().map(bookingService::toDto).toList();
+    }
+}
@@ -0,0 +1,122 @@
+package com.schedulr.service;
+
+import com.schedulr.benchmark.Fixtures;
+import com.schedulr.benchmark.InMemoryRepositories;
+import com.schedulr.cache.HostScheduleCache;
+import com.schedulr.cache.ScheduleVersions;
+import com.schedulr.cache.SlotHoldRegistry;
+import com.schedulr.dto.booking.TimeSlotDto;
+import com.schedulr.entity.AvailabilityRule;
+import com.schedulr.entity.Booking;
+import com.schedulr.entity.EventType;
+import com.schedulr.entity.User;
+import com.schedulr.repository.AvailabilityRuleRepository;
+import com.schedulr.repository.BookingRepository;
+import com.schedulr.repository.SlotHoldRepository;
+import com.schedulr.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slot generation for a one week window, with the host schedule already cached
+ * (the common case) and with a cold cache that has to rebuild rules and busy
+ * bitmaps from the repositories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlotGenerationBenchmark {
+
+    // Distinct host and guest zones so both offset tables are exercised
+    private static final ZoneId HOST_ZONE = ZoneId.of("America/New_York");
+    private static final ZoneId GUEST_ZONE = ZoneId.of("Europe/London");
+
+    @Param({ "15", "30", "60" })
+    public int durationMinutes;
+
+    @Param({ "0", "10" })
+    public int bufferMinutes;
+
+    @Param({ "0.0", "0.3", "0.8" })
+    public double bookingDensity;
+
+    private SlotGenerationService slotGenerationService;
+    private HostScheduleCache hostScheduleCache;
+    private SlotHoldRegistry slotHoldRegistry;
+    private EventType eventType;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User host = Fixtures.host();
+        eventType = Fixtures.eventType(host, durationMinutes, bufferMinutes);
+        startDate = LocalDate.now().plusDays(1);
+        endDate = startDate.plusDays(6);
+
+        List<AvailabilityRule> rules = Fixtures.workWeek(host);
+        List<Booking> bookings = Fixtures.bookings(host, eventType, startDate.minusDays(1), endDate.plusDays(1),
+                bookingDensity, 42);
+
+        AvailabilityRuleRepository ruleRepository = InMemoryRepositories.of(AvailabilityRuleRepository.class)
+                .on("findByUserIdAndIsAvailableTrue", args -> rules)
+                .build();
+        BookingRepository bookingRepository = InMemoryRepositories.of(BookingRepository.class)
+                .on("findBookedOverlapping", args -> {
+                    LocalDateTime from = (LocalDateTime) args[1];
+                    LocalDateTime to = (LocalDateTime) args[2];
+                    return bookings.stream()
+                            .filter(b -> b.getStartTime().isBefore(to) && b.getEndTime().isAfter(from))
+                            .toList();
+                })
+                .build();
+        SlotHoldRepository holdRepository = InMemoryRepositories.of(SlotHoldRepository.class)
+                .on("findActiveByHostId", args -> List.of())
+                .build();
+
+        hostScheduleCache = new HostScheduleCache(100, 90);
+        slotHoldRegistry = new SlotHoldRegistry(holdRepository,
+                new ScheduleVersions(InMemoryRepositories.of(UserRepository.class).build(), 1000));
+        slotGenerationService = new SlotGenerationService(ruleRepository, bookingRepository, hostScheduleCache,
+                slotHoldRegistry, new SimpleMeterRegistry());
+        slotGenerationService.registerMeters();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        slotHoldRegistry.shutdown();
+    }
+
+    @Benchmark
+    public List<TimeSlotDto> warmCache() {
+        return slotGenerationService.generateSlots(eventType, HOST_ZONE, GUEST_ZONE, startDate, endDate);
+    }
+
+    @Benchmark
+    public List<TimeSlotDto> coldCache() {
+        hostScheduleCache.evictAll();
+        slotHoldRegistry.evictAll();
+        return slotGenerationService.generateSlots(eventType, HOST_ZONE, GUEST_ZONE, startDate, endDate);
+    }
+}
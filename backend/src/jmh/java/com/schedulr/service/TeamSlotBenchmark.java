@@ -0,0 +1,136 @@
+package com.schedulr.service;
+
+import com.schedulr.benchmark.Fixtures;
+import com.schedulr.benchmark.InMemoryRepositories;
+import com.schedulr.cache.HostScheduleCache;
+import com.schedulr.cache.ScheduleVersions;
+import com.schedulr.cache.SlotHoldRegistry;
+import com.schedulr.dto.booking.TimeSlotDto;
+import com.schedulr.entity.AvailabilityRule;
+import com.schedulr.entity.Booking;
+import com.schedulr.entity.EventType;
+import com.schedulr.entity.User;
+import com.schedulr.repository.AvailabilityRuleRepository;
+import com.schedulr.repository.BookingRepository;
+import com.schedulr.repository.SlotHoldRepository;
+import com.schedulr.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collective and round-robin slot generation over a 30 day window for teams of up
+ * to 50 members spread across three zones, with warm schedules and with a cold
+ * cache that has to bulk-load every member's rules and bookings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TeamSlotBenchmark {
+
+    private static final String[] ZONES = { "Europe/London", "Europe/Berlin", "UTC" };
+    private static final ZoneId GUEST_ZONE = ZoneId.of("America/New_York");
+
+    @Param({ "COLLECTIVE", "ROUND_ROBIN" })
+    public String schedulingType;
+
+    @Param({ "5", "20", "50" })
+    public int teamSize;
+
+    @Param({ "0.02", "0.1" })
+    public double bookingDensity;
+
+    private SlotGenerationService slotGenerationService;
+    private HostScheduleCache hostScheduleCache;
+    private SlotHoldRegistry slotHoldRegistry;
+    private EventType eventType;
+    private List<User> members;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        startDate = LocalDate.now().plusDays(1);
+        endDate = startDate.plusDays(29);
+
+        members = new ArrayList<>();
+        List<AvailabilityRule> rules = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < teamSize; i++) {
+            User member = Fixtures.member(Fixtures.HOST_ID + i, ZONES[i % ZONES.length]);
+            members.add(member);
+            rules.addAll(Fixtures.workWeek(member));
+            bookings.addAll(Fixtures.bookings(member, Fixtures.eventType(member, 30, 0),
+                    startDate.minusDays(1), endDate.plusDays(1), bookingDensity, 42 + i));
+        }
+        eventType = Fixtures.eventType(members.get(0), 30, 10);
+        eventType.setSchedulingType(schedulingType);
+
+        AvailabilityRuleRepository ruleRepository = InMemoryRepositories.of(AvailabilityRuleRepository.class)
+                .on("findByUserIdInAndIsAvailableTrue", args -> {
+                    Collection<?> ids = (Collection<?>) args[0];
+                    return rules.stream().filter(r -> ids.contains(r.getUser().getId())).toList();
+                })
+                .build();
+        BookingRepository bookingRepository = InMemoryRepositories.of(BookingRepository.class)
+                .on("findBookedOverlappingForHosts", args -> {
+                    Collection<?> ids = (Collection<?>) args[0];
+                    LocalDateTime from = (LocalDateTime) args[1];
+                    LocalDateTime to = (LocalDateTime) args[2];
+                    return bookings.stream()
+                            .filter(b -> ids.contains(b.getHost().getId()))
+                            .filter(b -> b.getStartTime().isBefore(to) && b.getEndTime().isAfter(from))
+                            .toList();
+                })
+                .build();
+        SlotHoldRepository holdRepository = InMemoryRepositories.of(SlotHoldRepository.class)
+                .on("findActiveByHostId", args -> List.of())
+                .build();
+
+        hostScheduleCache = new HostScheduleCache(1000, 90);
+        slotHoldRegistry = new SlotHoldRegistry(holdRepository,
+                new ScheduleVersions(InMemoryRepositories.of(UserRepository.class).build(), 1000));
+        slotGenerationService = new SlotGenerationService(ruleRepository, bookingRepository, hostScheduleCache,
+                slotHoldRegistry, new SimpleMeterRegistry());
+        slotGenerationService.registerMeters();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        slotHoldRegistry.shutdown();
+    }
+
+    @Benchmark
+    public List<TimeSlotDto> warmCache() {
+        return slotGenerationService.generateTeamSlots(eventType, members, GUEST_ZONE, startDate, endDate);
+    }
+
+    @Benchmark
+    public List<TimeSlotDto> coldCache() {
+        hostScheduleCache.evictAll();
+        slotHoldRegistry.evictAll();
+        return slotGenerationService.generateTeamSlots(eventType, members, GUEST_ZONE, startDate, endDate);
+    }
+}
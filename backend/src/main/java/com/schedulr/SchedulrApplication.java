@@ -4,10 +4,14 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.util.TimeZone;
+
 @SpringBootApplication
 @EnableScheduling
 public class SchedulrApplication {
     public static void main(String[] args) {
+        // Timestamps are stored as UTC wall-clock values, so LocalDateTime.now() must be UTC too
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
         SpringApplication.run(SchedulrApplication.class, args);
     }
 }
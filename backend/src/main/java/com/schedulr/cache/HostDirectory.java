@@ -0,0 +1,140 @@
+package com.schedulr.cache;
+
+import com.schedulr.event.AccountChangedEvent;
+import com.schedulr.event.ScheduleChangedEvent;
+import com.schedulr.exception.ResourceNotFoundException;
+import com.schedulr.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache from username to host id and time zone for the public booking
+ * pages. Unknown usernames are remembered for a shorter TTL, so probing random
+ * names costs neither a query nor a stack trace. They are kept in a separate,
+ * smaller map that drops its oldest names when full, so a flood of made-up names
+ * never pushes out real hosts. Entries are dropped when the host's profile
+ * changes, locally or on another node.
+ */
+@Component
+public class HostDirectory implements HostScopedCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+    private final long negativeTtlMs;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Unknown username -> expiry time, in insertion order
+    private final Map<String, Long> unknown;
+    // Bumped on every eviction, so a lookup that raced with one is not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    public HostDirectory(UserRepository userRepository,
+            @Value("${app.cache.hosts.ttl-ms:600000}") long ttlMs,
+            @Value("${app.cache.hosts.negative-ttl-ms:30000}") long negativeTtlMs,
+            @Value("${app.cache.hosts.max-entries:50000}") int maxEntries,
+            @Value("${app.cache.hosts.max-negative-entries:5000}") int maxNegativeEntries) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlMs;
+        this.negativeTtlMs = negativeTtlMs;
+        this.maxEntries = maxEntries;
+        this.unknown = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxNegativeEntries;
+            }
+        });
+    }
+
+    public Optional<Host> find(String username) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt() > now) {
+            return Optional.of(entry.host());
+        }
+        Long unknownUntil = unknown.get(username);
+        if (unknownUntil != null && unknownUntil > now) {
+            return Optional.empty();
+        }
+        long loadedAt = generation.get();
+        Host host = userRepository.findHostByUsername(username)
+                .map(view -> new Host(view.getId(), view.getTimezone()))
+                .orElse(null);
+        if (host == null) {
+            // Re-inserted so a renewed name moves to the back of the eviction order
+            unknown.remove(username);
+            unknown.put(username, now + negativeTtlMs);
+            if (generation.get() != loadedAt) {
+                unknown.remove(username);
+            }
+            return Optional.empty();
+        }
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(e -> e.expiresAt() <= now);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(username, new Entry(host, now + ttlMs));
+        if (generation.get() != loadedAt) {
+            entries.remove(username);
+        }
+        return Optional.of(host);
+    }
+
+    /**
+     * @throws ResourceNotFoundException without a stack trace if there is no such user
+     */
+    public Host require(String username) {
+        return find(username)
+                .orElseThrow(() -> ResourceNotFoundException.withoutStackTrace("User not found: " + username));
+    }
+
+    @Override
+    public void evictHost(Long hostId) {
+        generation.incrementAndGet();
+        entries.values().removeIf(e -> e.host().id().equals(hostId));
+    }
+
+    @Override
+    public void evictAll() {
+        generation.incrementAndGet();
+        entries.clear();
+        unknown.clear();
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        if (event.kind() == ScheduleChangedEvent.Kind.PROFILE_CHANGED) {
+            evictHost(event.hostId());
+            // The host may have moved to a username that was cached as unknown
+            evictUnknown();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (event.kind() == AccountChangedEvent.Kind.USER_CREATED) {
+            evictUnknown();
+        }
+    }
+
+    private void evictUnknown() {
+        generation.incrementAndGet();
+        unknown.clear();
+    }
+
+    public record Host(Long id, String timezone) {
+    }
+
+    private record Entry(Host host, long expiresAt) {
+    }
+}
@@ -0,0 +1,299 @@
+package com.schedulr.cache;
+
+import com.schedulr.entity.AvailabilityRule;
+import com.schedulr.entity.Booking;
+import com.schedulr.event.ScheduleChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory free/busy cache used by the slot engine.
+ * Keeps, per host, the weekly availability windows and a minute-granularity busy
+ * bitmap per calendar day. Hosts are evicted least-recently-used once the cache
+ * reaches its configured size, and entries are kept current from
+ * {@link ScheduleChangedEvent}s published by the booking and availability services.
+ * Only days from yesterday to {@code horizon-days} ahead are cached, which bounds
+ * the bitmaps per host; queries reaching further go to the database.
+ */
+@Component
+@Slf4j
+public class HostScheduleCache implements HostScopedCache {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS_PER_DAY = (MINUTES_PER_DAY + 63) / 64;
+    private static final long[] EMPTY_DAY = new long[WORDS_PER_DAY];
+
+    private final Map<Long, HostSchedule> hosts;
+    private final int horizonDays;
+
+    public HostScheduleCache(@Value("${app.cache.schedule.max-hosts:5000}") int maxHosts,
+            @Value("${app.cache.schedule.horizon-days:90}") int horizonDays) {
+        this.horizonDays = horizonDays;
+        this.hosts = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, HostSchedule> eldest) {
+                return size() > maxHosts;
+            }
+        });
+    }
+
+    public HostSchedule get(Long hostId) {
+        return hosts.computeIfAbsent(hostId, id -> new HostSchedule(horizonDays));
+    }
+
+    /**
+     * @return whether every day in [from, to] is within the cached horizon
+     */
+    public boolean covers(LocalDate from, LocalDate to) {
+        return !from.isBefore(oldestCachedDay()) && !to.isAfter(newestCachedDay(horizonDays));
+    }
+
+    @Override
+    public void evictHost(Long hostId) {
+        hosts.remove(hostId);
+    }
+
+    @Override
+    public void evictAll() {
+        hosts.clear();
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        HostSchedule schedule = hosts.get(event.hostId());
+        if (schedule == null) {
+            return;
+        }
+        switch (event.kind()) {
+            case BOOKING_CREATED -> schedule.markBusy(event.start(), event.end());
+            case BOOKING_CANCELLED -> schedule.evictDays(event.start(), event.end());
+            case AVAILABILITY_CHANGED -> schedule.evictRules();
+            case EVENT_TYPE_CHANGED, HOLDS_CHANGED, PROFILE_CHANGED -> {
+                // Not part of the booking bitmaps; holds are tracked by SlotHoldRegistry
+            }
+        }
+        log.debug("Schedule cache updated for host {}: {}", event.hostId(), event.kind());
+    }
+
+    private static LocalDate oldestCachedDay() {
+        return LocalDate.now().minusDays(1);
+    }
+
+    private static LocalDate newestCachedDay(int horizonDays) {
+        return LocalDate.now().plusDays(horizonDays);
+    }
+
+    /**
+     * Convert availability rules into per-weekday windows in seconds of day, indexed
+     * as [2 * dayOfWeek.ordinal()] = start and [2 * dayOfWeek.ordinal() + 1] = end.
+     * Days without a rule hold -1. The first rule for a day wins.
+     */
+    public static int[] toRuleWindows(List<AvailabilityRule> rules) {
+        int[] windows = new int[DayOfWeek.values().length * 2];
+        Arrays.fill(windows, -1);
+        for (AvailabilityRule rule : rules) {
+            int index = DayOfWeek.valueOf(rule.getDayOfWeek().toUpperCase()).ordinal() * 2;
+            if (windows[index] < 0) {
+                windows[index] = rule.getStartTime().toSecondOfDay();
+                windows[index + 1] = rule.getEndTime().toSecondOfDay();
+            }
+        }
+        return windows;
+    }
+
+    /**
+     * Cached schedule of a single host. Reads are lock-free; mutations are
+     * serialized on the instance and bump {@link #version()} so that a load which
+     * raced with a booking change is discarded instead of overwriting newer data.
+     */
+    public static final class HostSchedule {
+
+        private final int horizonDays;
+        private volatile long version;
+        private volatile int[] ruleWindows;
+        private final Map<LocalDate, long[]> days = new ConcurrentHashMap<>();
+
+        HostSchedule(int horizonDays) {
+            this.horizonDays = horizonDays;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        /**
+         * @return weekday windows as produced by {@link #toRuleWindows}, or null if not loaded
+         */
+        public int[] ruleWindows() {
+            return ruleWindows;
+        }
+
+        public synchronized void installRules(int[] windows, long expectedVersion) {
+            if (version == expectedVersion) {
+                ruleWindows = windows;
+            }
+        }
+
+        /**
+         * @return the earliest date in [from, to] without a cached bitmap, or null if all are cached
+         */
+        public LocalDate firstMissingDay(LocalDate from, LocalDate to) {
+            for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+                if (!days.containsKey(d)) {
+                    return d;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return the latest date in [from, to] without a cached bitmap, or null if all are cached
+         */
+        public LocalDate lastMissingDay(LocalDate from, LocalDate to) {
+            for (LocalDate d = to; !d.isBefore(from); d = d.minusDays(1)) {
+                if (!days.containsKey(d)) {
+                    return d;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Build bitmaps for every day in [from, to] from the given bookings, which must
+         * include every BOOKED booking overlapping that range. Days outside the cached
+         * horizon are skipped.
+         */
+        public synchronized void installDays(LocalDate from, LocalDate to, List<Booking> bookings,
+                long expectedVersion) {
+            if (version != expectedVersion) {
+                return;
+            }
+            LocalDate oldest = oldestCachedDay();
+            if (from.isBefore(oldest)) {
+                from = oldest;
+            }
+            LocalDate newest = newestCachedDay(horizonDays);
+            if (to.isAfter(newest)) {
+                to = newest;
+            }
+            if (from.isAfter(to)) {
+                return;
+            }
+            int dayCount = (int) (to.toEpochDay() - from.toEpochDay()) + 1;
+            long[][] bitmaps = new long[dayCount][];
+            long rangeStart = from.toEpochDay() * MINUTES_PER_DAY;
+            long rangeEnd = rangeStart + (long) dayCount * MINUTES_PER_DAY;
+            for (Booking booking : bookings) {
+                long startMinute = Math.max(floorMinute(booking.getStartTime()), rangeStart);
+                long endMinute = Math.min(ceilMinute(booking.getEndTime()), rangeEnd);
+                for (long m = startMinute; m < endMinute; m++) {
+                    int day = (int) ((m - rangeStart) / MINUTES_PER_DAY);
+                    if (bitmaps[day] == null) {
+                        bitmaps[day] = new long[WORDS_PER_DAY];
+                    }
+                    int minute = (int) ((m - rangeStart) % MINUTES_PER_DAY);
+                    bitmaps[day][minute >>> 6] |= 1L << minute;
+                }
+            }
+            for (int i = 0; i < dayCount; i++) {
+                days.put(from.plusDays(i), bitmaps[i] != null ? bitmaps[i] : EMPTY_DAY);
+            }
+            days.keySet().removeIf(d -> d.isBefore(oldest));
+        }
+
+        /**
+         * Return the busy time in [from, to] as disjoint, sorted intervals flattened to
+         * [start0, end0, start1, end1, ...] in epoch seconds.
+         *
+         * @return the intervals, or null if any day in the range is not cached
+         */
+        public long[] busyIntervals(LocalDate from, LocalDate to) {
+            long[] runs = new long[16];
+            int size = 0;
+            boolean open = false;
+            for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+                long[] bitmap = days.get(d);
+                if (bitmap == null) {
+                    return null;
+                }
+                long dayStart = d.toEpochDay() * MINUTES_PER_DAY;
+                for (int minute = 0; minute < MINUTES_PER_DAY;) {
+                    long word = bitmap[minute >>> 6];
+                    if (word == (open ? -1L : 0L)) {
+                        // Nothing changes within the rest of this word
+                        minute = (minute | 63) + 1;
+                        continue;
+                    }
+                    boolean busy = (word & (1L << minute)) != 0;
+                    if (busy != open) {
+                        if (size == runs.length) {
+                            runs = Arrays.copyOf(runs, runs.length * 2);
+                        }
+                        runs[size++] = (dayStart + minute) * 60;
+                        open = busy;
+                    }
+                    minute++;
+                }
+            }
+            if (open) {
+                runs[size++] = (to.plusDays(1).toEpochDay() * MINUTES_PER_DAY) * 60;
+            }
+            return Arrays.copyOf(runs, size);
+        }
+
+        synchronized void markBusy(LocalDateTime start, LocalDateTime end) {
+            version++;
+            long startMinute = floorMinute(start);
+            long endMinute = ceilMinute(end);
+            for (LocalDate d = start.toLocalDate(); !d.isAfter(end.toLocalDate()); d = d.plusDays(1)) {
+                long[] current = days.get(d);
+                if (current == null) {
+                    continue;
+                }
+                long[] updated = current.clone();
+                long dayStart = d.toEpochDay() * MINUTES_PER_DAY;
+                long from = Math.max(startMinute, dayStart);
+                long to = Math.min(endMinute, dayStart + MINUTES_PER_DAY);
+                for (long m = from; m < to; m++) {
+                    int minute = (int) (m - dayStart);
+                    updated[minute >>> 6] |= 1L << minute;
+                }
+                days.put(d, updated);
+            }
+        }
+
+        synchronized void evictDays(LocalDateTime start, LocalDateTime end) {
+            version++;
+            for (LocalDate d = start.toLocalDate(); !d.isAfter(end.toLocalDate()); d = d.plusDays(1)) {
+                days.remove(d);
+            }
+        }
+
+        synchronized void evictRules() {
+            version++;
+            ruleWindows = null;
+        }
+
+        private static long floorMinute(LocalDateTime dateTime) {
+            return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+        }
+
+        private static long ceilMinute(LocalDateTime dateTime) {
+            return -Math.floorDiv(-dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+        }
+    }
+}
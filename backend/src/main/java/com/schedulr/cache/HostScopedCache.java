@@ -0,0 +1,26 @@
+package com.schedulr.cache;
+
+import com.schedulr.event.ScheduleChangedEvent;
+
+/**
+ * An in-process cache holding data keyed by host. Implementations are notified by
+ * {@link ScheduleInvalidationBus} when another node changes a host's schedule.
+ */
+public interface HostScopedCache {
+
+    /**
+     * Apply a schedule change made on this node after commit, or relayed from another
+     * node, dropping or updating only what the change affects.
+     */
+    void onScheduleChanged(ScheduleChangedEvent event);
+
+    /**
+     * Drop everything cached for the given host.
+     */
+    void evictHost(Long hostId);
+
+    /**
+     * Drop everything cached, e.g. after invalidation messages may have been missed.
+     */
+    void evictAll();
+}
@@ -0,0 +1,186 @@
+package com.schedulr.cache;
+
+import com.schedulr.event.ScheduleChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Cluster-wide cache invalidation over Postgres LISTEN/NOTIFY.
+ * Every committed {@link ScheduleChangedEvent} is broadcast on {@link #CHANNEL} as
+ * "nodeId:hostId:KIND", followed by ":start:end" in UTC epoch seconds for booking
+ * changes. Each node keeps one dedicated connection (outside the Hikari pool)
+ * listening on the channel and hands changes reported by other nodes to every
+ * {@link HostScopedCache}, which applies them as it does local ones: a booking
+ * updates one day's bitmap rather than dropping the host. A payload it cannot read,
+ * e.g. from an older node, evicts the host everywhere. {@link ScheduleVersions}
+ * moves last, once every cache is up to date.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ScheduleInvalidationBus {
+
+    static final String CHANNEL = "schedule_invalidation";
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long RECONNECT_DELAY_MS = 2000;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectProvider<HostScopedCache> caches;
+    private final ScheduleVersions versions;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public ScheduleInvalidationBus(JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            ObjectProvider<HostScopedCache> caches,
+            ScheduleVersions versions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.caches = caches;
+        this.versions = versions;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "schedule-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        listenerThread.interrupt();
+        listenerThread.join(RECONNECT_DELAY_MS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        try {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, encode(nodeId, event));
+        } catch (Exception e) {
+            log.error("Failed to publish cache invalidation for host {}: {}", event.hostId(), e.getMessage());
+        }
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    // Notifications sent while we were disconnected are lost
+                    caches.forEach(HostScopedCache::evictAll);
+                    versions.changedAll();
+                }
+                log.info("Listening for cache invalidations on channel '{}' as node {}", CHANNEL, nodeId);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.error("Cache invalidation listener lost its connection: {}", e.getMessage());
+                reconnecting = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    void handle(String payload) {
+        String[] parts = payload.split(":");
+        if (parts.length < 2 || parts[0].equals(nodeId)) {
+            return;
+        }
+        Long hostId;
+        try {
+            hostId = Long.valueOf(parts[1]);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed cache invalidation payload: {}", payload);
+            return;
+        }
+        ScheduleChangedEvent event = decode(hostId, parts);
+        if (event == null) {
+            caches.forEach(cache -> cache.evictHost(hostId));
+            versions.changed(hostId);
+            log.debug("Evicted host {} after remote invalidation", hostId);
+            return;
+        }
+        caches.forEach(cache -> cache.onScheduleChanged(event));
+        versions.onScheduleChanged(event);
+        log.debug("Applied remote {} for host {}", event.kind(), hostId);
+    }
+
+    static String encode(String nodeId, ScheduleChangedEvent event) {
+        StringBuilder payload = new StringBuilder(nodeId).append(':').append(event.hostId())
+                .append(':').append(event.kind().name());
+        if (event.start() != null && event.end() != null) {
+            payload.append(':').append(event.start().toEpochSecond(ZoneOffset.UTC))
+                    .append(':').append(event.end().toEpochSecond(ZoneOffset.UTC));
+        }
+        return payload.toString();
+    }
+
+    /**
+     * @return the event in {@code parts} after node and host id, or null if it cannot be read
+     */
+    static ScheduleChangedEvent decode(Long hostId, String[] parts) {
+        if (parts.length != 3 && parts.length != 5) {
+            return null;
+        }
+        try {
+            ScheduleChangedEvent.Kind kind = ScheduleChangedEvent.Kind.valueOf(parts[2]);
+            LocalDateTime start = null;
+            LocalDateTime end = null;
+            if (parts.length == 5) {
+                start = LocalDateTime.ofEpochSecond(Long.parseLong(parts[3]), 0, ZoneOffset.UTC);
+                end = LocalDateTime.ofEpochSecond(Long.parseLong(parts[4]), 0, ZoneOffset.UTC);
+            }
+            boolean bookingChange = kind == ScheduleChangedEvent.Kind.BOOKING_CREATED
+                    || kind == ScheduleChangedEvent.Kind.BOOKING_CANCELLED;
+            if (bookingChange && start == null) {
+                return null;
+            }
+            return new ScheduleChangedEvent(hostId, kind, start, end);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.schedulr.cache;
+
+import com.schedulr.event.ScheduleChangedEvent;
+import com.schedulr.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory schedule versions per host, from which the public endpoints derive
+ * their ETags without a query.
+ * A host's version moves after every change committed on this node, every change
+ * relayed by {@link ScheduleInvalidationBus} and every slot hold that expires here,
+ * always after the caches have applied the change, so an ETag never outlives the
+ * data it was issued for. Versions start over with each node; the node id is part
+ * of every ETag, so a client that switches nodes gets one full response, never a
+ * stale 304.
+ * <p>
+ * The active members of team event types are cached alongside, since slot ETags
+ * cover every member's schedule.
+ */
+@Component
+public class ScheduleVersions {
+
+    private final String nodeId = Long.toHexString(UUID.randomUUID().getMostSignificantBits());
+    private final UserRepository userRepository;
+    private final AtomicLong clock = new AtomicLong();
+    // Clock value of each host's last change; hosts unchanged since startup are absent
+    private final Map<Long, Long> changedAt = new ConcurrentHashMap<>();
+    private final Map<Long, List<Long>> teamMembers;
+    private volatile long clearedAt;
+    private volatile long teamsClearedAt;
+
+    public ScheduleVersions(UserRepository userRepository,
+            @Value("${app.cache.versions.max-event-types:10000}") int maxEventTypes) {
+        this.userRepository = userRepository;
+        this.teamMembers = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<Long>> eldest) {
+                return size() > maxEventTypes;
+            }
+        });
+    }
+
+    /**
+     * Identifies the state of everything this node has cached: the node itself and
+     * the last time it dropped all caches. Part of every ETag.
+     */
+    public String epoch() {
+        return nodeId + "." + clearedAt;
+    }
+
+    public long version(Long hostId) {
+        return changedAt.getOrDefault(hostId, 0L);
+    }
+
+    /**
+     * Active members of the team behind {@code eventTypeId}, by id, or an empty list
+     * for event types without a team. Loaded once and kept until an event type or
+     * profile changes anywhere.
+     */
+    public List<Long> activeTeamMembers(Long eventTypeId) {
+        List<Long> members = teamMembers.get(eventTypeId);
+        if (members == null) {
+            long loadedAt = clock.get();
+            members = List.copyOf(userRepository.findActiveTeamMemberIds(eventTypeId));
+            if (teamsClearedAt <= loadedAt) {
+                teamMembers.put(eventTypeId, members);
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Runs after completion rather than after commit, so every cache has applied the
+     * change by the time the version moves. A rolled-back change moves it too, which
+     * only costs one full response.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        if (event.kind() == ScheduleChangedEvent.Kind.EVENT_TYPE_CHANGED
+                || event.kind() == ScheduleChangedEvent.Kind.PROFILE_CHANGED) {
+            clearTeams();
+        }
+        changed(event.hostId());
+    }
+
+    /**
+     * Move the host's version, e.g. after a hold expired on this node.
+     */
+    public void changed(Long hostId) {
+        changedAt.put(hostId, clock.incrementAndGet());
+    }
+
+    /**
+     * Invalidate every ETag issued so far, e.g. after invalidation messages may have
+     * been missed.
+     */
+    public void changedAll() {
+        clearTeams();
+        clearedAt = clock.incrementAndGet();
+    }
+
+    private void clearTeams() {
+        teamsClearedAt = clock.incrementAndGet();
+        teamMembers.clear();
+    }
+}
@@ -0,0 +1,201 @@
+package com.schedulr.cache;
+
+import com.schedulr.entity.SlotHold;
+import com.schedulr.event.ScheduleChangedEvent;
+import com.schedulr.repository.SlotHoldRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory view of the active slot holds per host.
+ * The slot_holds table is the source of truth shared by all nodes; this registry
+ * loads a host's holds on first use, drops them as they expire using a hashed
+ * timing wheel (one-second ticks), and reloads a host after any local or remote
+ * hold change. An expired hold frees its slot without any write, so expiry moves
+ * the host's {@link ScheduleVersions} entry here; every node that served those
+ * slots loaded the hold and expires it itself.
+ */
+@Component
+@Slf4j
+public class SlotHoldRegistry implements HostScopedCache {
+
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SIZE = 512;
+    private static final int SWEEP_EVERY_TICKS = 60;
+    private static final long[] NO_HOLDS = new long[0];
+
+    private final SlotHoldRepository slotHoldRepository;
+    private final ScheduleVersions scheduleVersions;
+    private final Map<Long, List<Hold>> hosts = new ConcurrentHashMap<>();
+    // Hosts being loaded; an eviction removes the entry so the stale result is not kept
+    private final Map<Long, Object> loading = new ConcurrentHashMap<>();
+    private final Queue<Expiry>[] wheel;
+    private final ScheduledExecutorService ticker;
+    private volatile long lastTick;
+
+    @SuppressWarnings("unchecked")
+    public SlotHoldRegistry(SlotHoldRepository slotHoldRepository, ScheduleVersions scheduleVersions) {
+        this.slotHoldRepository = slotHoldRepository;
+        this.scheduleVersions = scheduleVersions;
+        this.wheel = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.lastTick = System.currentTimeMillis() / TICK_MS;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "slot-hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Active holds of a host as sorted [start0, end0, start1, end1, ...] epoch seconds,
+     * optionally ignoring the hold identified by {@code exceptToken}.
+     */
+    public long[] heldIntervals(Long hostId, String exceptToken) {
+        List<Hold> holds = hosts.get(hostId);
+        if (holds == null) {
+            holds = loadAndCache(hostId);
+        }
+        if (holds.isEmpty()) {
+            return NO_HOLDS;
+        }
+        long now = System.currentTimeMillis();
+        long[] intervals = new long[holds.size() * 2];
+        int size = 0;
+        for (Hold hold : holds) {
+            if (hold.expiresAtMillis() > now && !hold.token().equals(exceptToken)) {
+                intervals[size++] = hold.start();
+                intervals[size++] = hold.end();
+            }
+        }
+        return size == intervals.length ? intervals : Arrays.copyOf(intervals, size);
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        if (event.kind() == ScheduleChangedEvent.Kind.HOLDS_CHANGED) {
+            evictHost(event.hostId());
+        }
+    }
+
+    @Override
+    public void evictHost(Long hostId) {
+        loading.remove(hostId);
+        hosts.remove(hostId);
+    }
+
+    @Override
+    public void evictAll() {
+        loading.clear();
+        hosts.clear();
+    }
+
+    /**
+     * Query outside the map, so a slow load neither blocks other hosts in the same
+     * bin nor runs while the map holds a lock. Concurrent loads of one host may both
+     * query; the last one to start is kept, and none if an eviction came in meanwhile.
+     */
+    private List<Hold> loadAndCache(Long hostId) {
+        Object marker = new Object();
+        loading.put(hostId, marker);
+        List<Hold> holds = load(hostId);
+        if (!loading.remove(hostId, marker)) {
+            return holds;
+        }
+        List<Hold> current = hosts.putIfAbsent(hostId, holds);
+        return current != null ? current : holds;
+    }
+
+    private List<Hold> load(Long hostId) {
+        List<Hold> holds = new ArrayList<>();
+        for (SlotHold entity : slotHoldRepository.findActiveByHostId(hostId, LocalDateTime.now(ZoneOffset.UTC))) {
+            Hold hold = new Hold(entity.getToken(), toEpochSecond(entity.getStartTime()),
+                    toEpochSecond(entity.getEndTime()),
+                    entity.getExpiresAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+            holds.add(hold);
+            schedule(hostId, hold);
+        }
+        return List.copyOf(holds);
+    }
+
+    private void schedule(Long hostId, Hold hold) {
+        // Rounded up: a tick is processed once its start has passed, and a hold filed
+        // under the tick it expires in would be put back for a full revolution
+        long tick = Math.max(-Math.floorDiv(-hold.expiresAtMillis(), TICK_MS), lastTick + 1);
+        wheel[(int) (tick % WHEEL_SIZE)].add(new Expiry(hostId, hold));
+    }
+
+    /**
+     * Process every tick that elapsed since the last run. Entries due in a later
+     * revolution of the wheel are put back into their bucket.
+     */
+    private void advance() {
+        try {
+            long now = System.currentTimeMillis();
+            long currentTick = now / TICK_MS;
+            for (long tick = lastTick + 1; tick <= currentTick; tick++) {
+                Queue<Expiry> bucket = wheel[(int) (tick % WHEEL_SIZE)];
+                List<Expiry> notDue = new ArrayList<>();
+                Expiry expiry;
+                while ((expiry = bucket.poll()) != null) {
+                    if (expiry.hold().expiresAtMillis() <= now) {
+                        expire(expiry);
+                    } else {
+                        notDue.add(expiry);
+                    }
+                }
+                bucket.addAll(notDue);
+            }
+            if (currentTick / SWEEP_EVERY_TICKS != lastTick / SWEEP_EVERY_TICKS) {
+                // Keep memory bounded; hosts without holds are reloaded on their next lookup
+                hosts.values().removeIf(List::isEmpty);
+            }
+            lastTick = currentTick;
+        } catch (Exception e) {
+            log.error("Slot hold expiry tick failed: {}", e.getMessage());
+        }
+    }
+
+    private void expire(Expiry expiry) {
+        hosts.computeIfPresent(expiry.hostId(), (hostId, holds) -> {
+            List<Hold> remaining = new ArrayList<>(holds);
+            remaining.remove(expiry.hold());
+            return List.copyOf(remaining);
+        });
+        scheduleVersions.changed(expiry.hostId());
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private record Hold(String token, long start, long end, long expiresAtMillis) {
+    }
+
+    private record Expiry(Long hostId, Hold hold) {
+    }
+}
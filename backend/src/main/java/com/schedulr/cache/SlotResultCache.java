@@ -0,0 +1,193 @@
+package com.schedulr.cache;
+
+import com.schedulr.dto.booking.TimeSlotDto;
+import com.schedulr.event.ScheduleChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight cache in front of public slot queries.
+ * Concurrent requests for the same key share one in-flight computation, and its
+ * result is served for a short TTL afterwards. Entries are dropped as soon as a
+ * schedule change is reported for any host they were computed from, locally or
+ * by another node.
+ * <p>
+ * Evictions are stamped per host from one counter. A computation remembers the
+ * counter when it starts and is only kept if none of its hosts was evicted since,
+ * so a change to one host never discards queries about others.
+ */
+@Component
+@Slf4j
+public class SlotResultCache implements HostScopedCache {
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    // Clock value of each host's last eviction
+    private final Map<Long, Long> evictedAt = new ConcurrentHashMap<>();
+    private volatile long clearedAt;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public SlotResultCache(@Value("${app.cache.slots.ttl-ms:5000}") long ttlMs,
+            @Value("${app.cache.slots.max-entries:10000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("slots.cache.requests")
+                .description("Public slot queries served by the slot result cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("slots.cache.requests")
+                .description("Public slot queries served by the slot result cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Return the cached slots for {@code key}, joining an in-flight computation if
+     * there is one and running {@code loader} on the calling thread otherwise.
+     * Exceptions thrown by the loader are rethrown to every caller that joined it
+     * and are not cached.
+     */
+    public List<TimeSlotDto> get(Key key, Supplier<Result> loader) {
+        long now = System.nanoTime();
+        Entry fresh = new Entry(clock.get());
+        Entry entry = entries.compute(key, (k, current) ->
+                current != null && !current.isExpired(now) ? current : fresh);
+        if (entry != fresh) {
+            hits.increment();
+            return join(entry);
+        }
+
+        misses.increment();
+        if (entries.size() > maxEntries) {
+            entries.values().removeIf(e -> e.isExpired(now));
+        }
+        if (evictedAt.size() > maxEntries) {
+            forgetSettledEvictions();
+        }
+        try {
+            Result result = loader.get();
+            entry.hostIds = result.hostIds();
+            entry.expiresAt = System.nanoTime() + ttlNanos;
+            entry.future.complete(result.slots());
+            // Set hostIds before checking, so an eviction racing with this either
+            // is seen here or finds the entry itself
+            if (evictedSince(entry.startedAt, result.hostIds())) {
+                entries.remove(key, entry);
+            }
+            return result.slots();
+        } catch (Throwable e) {
+            // Errors too, or joined callers would wait on the future forever
+            entries.remove(key, entry);
+            entry.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void evictHost(Long hostId) {
+        evictedAt.put(hostId, clock.incrementAndGet());
+        entries.values().removeIf(e -> e.hostIds != null && e.hostIds.contains(hostId));
+    }
+
+    @Override
+    public void evictAll() {
+        clearedAt = clock.incrementAndGet();
+        entries.clear();
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        evictHost(event.hostId());
+    }
+
+    private boolean evictedSince(long startedAt, Set<Long> hostIds) {
+        if (clearedAt > startedAt) {
+            return true;
+        }
+        for (Long hostId : hostIds) {
+            Long evicted = evictedAt.get(hostId);
+            if (evicted != null && evicted > startedAt) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drop eviction stamps older than every computation still running; only those
+     * computations compare against them.
+     */
+    private void forgetSettledEvictions() {
+        long oldest = clock.get();
+        for (Entry e : entries.values()) {
+            if (!e.future.isDone()) {
+                oldest = Math.min(oldest, e.startedAt);
+            }
+        }
+        long settled = oldest;
+        evictedAt.values().removeIf(evicted -> evicted <= settled);
+    }
+
+    private static List<TimeSlotDto> join(Entry entry) {
+        try {
+            return entry.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A public slot query as received; {@code timezone} is the raw guest zone parameter.
+     */
+    public record Key(String username, Long eventTypeId, LocalDate date, String timezone) {
+    }
+
+    /**
+     * Computed slots, which must not be modified afterwards, and the hosts whose
+     * schedules they depend on.
+     */
+    public record Result(List<TimeSlotDto> slots, Set<Long> hostIds) {
+    }
+
+    private static final class Entry {
+
+        final long startedAt;
+        final CompletableFuture<List<TimeSlotDto>> future = new CompletableFuture<>();
+        volatile Set<Long> hostIds;
+        volatile long expiresAt;
+
+        Entry(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        boolean isExpired(long now) {
+            return future.isDone() && now - expiresAt >= 0;
+        }
+    }
+}
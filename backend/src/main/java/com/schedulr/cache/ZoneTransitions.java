@@ -0,0 +1,163 @@
+package com.schedulr.cache;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneOffsetTransitionRule;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed UTC offset transitions of a time zone, for converting between
+ * epoch seconds and local wall-clock seconds without allocating.
+ * Tables cover the zone's history and its recurring rules up to
+ * {@link #HORIZON_YEARS} years ahead; anything later falls back to {@link ZoneRules}.
+ * Instances are immutable and cached per zone.
+ */
+public final class ZoneTransitions {
+
+    /** Returned by {@link #toEpochSecond(long)} for local times skipped by a DST gap. */
+    public static final long NONEXISTENT = Long.MIN_VALUE;
+
+    private static final int HORIZON_YEARS = 10;
+    private static final Map<ZoneId, ZoneTransitions> CACHE = new ConcurrentHashMap<>();
+
+    private final ZoneRules rules;
+    private final long[] epochs;
+    // Earliest local second affected by each transition: the start of a gap or of an overlap
+    private final long[] localStarts;
+    private final int[] offsetsBefore;
+    private final int[] offsetsAfter;
+    private final long horizonEpoch;
+
+    private ZoneTransitions(ZoneRules rules, List<ZoneOffsetTransition> transitions, long horizonEpoch) {
+        this.rules = rules;
+        this.horizonEpoch = horizonEpoch;
+        int size = transitions.size();
+        this.epochs = new long[size];
+        this.localStarts = new long[size];
+        this.offsetsBefore = new int[size];
+        this.offsetsAfter = new int[size];
+        for (int i = 0; i < size; i++) {
+            ZoneOffsetTransition transition = transitions.get(i);
+            epochs[i] = transition.toEpochSecond();
+            offsetsBefore[i] = transition.getOffsetBefore().getTotalSeconds();
+            offsetsAfter[i] = transition.getOffsetAfter().getTotalSeconds();
+            localStarts[i] = epochs[i] + Math.min(offsetsBefore[i], offsetsAfter[i]);
+        }
+    }
+
+    public static ZoneTransitions of(ZoneId zone) {
+        return CACHE.computeIfAbsent(zone, ZoneTransitions::build);
+    }
+
+    private static ZoneTransitions build(ZoneId zone) {
+        ZoneRules rules = zone.getRules();
+        int horizonYear = Year.now(ZoneOffset.UTC).getValue() + HORIZON_YEARS;
+        long horizonEpoch = LocalDateTime.of(horizonYear + 1, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        if (rules.isFixedOffset()) {
+            return new ZoneTransitions(rules, List.of(), Long.MAX_VALUE);
+        }
+
+        List<ZoneOffsetTransition> transitions = new ArrayList<>(rules.getTransitions());
+        List<ZoneOffsetTransitionRule> recurring = rules.getTransitionRules();
+        if (!recurring.isEmpty()) {
+            int firstYear = transitions.isEmpty() ? 1970
+                    : transitions.get(transitions.size() - 1).getDateTimeAfter().getYear();
+            long lastEpoch = transitions.isEmpty() ? Long.MIN_VALUE
+                    : transitions.get(transitions.size() - 1).toEpochSecond();
+            for (int year = firstYear; year <= horizonYear; year++) {
+                for (ZoneOffsetTransitionRule rule : recurring) {
+                    ZoneOffsetTransition transition = rule.createTransition(year);
+                    if (transition.toEpochSecond() > lastEpoch) {
+                        transitions.add(transition);
+                    }
+                }
+            }
+            transitions.sort(null);
+        }
+        return new ZoneTransitions(rules, transitions, recurring.isEmpty() ? Long.MAX_VALUE : horizonEpoch);
+    }
+
+    /**
+     * UTC offset in seconds at the given instant.
+     */
+    public int offsetAt(long epochSecond) {
+        if (epochs.length == 0) {
+            return rules.getOffset(Instant.EPOCH).getTotalSeconds();
+        }
+        if (epochSecond >= horizonEpoch) {
+            return rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        }
+        int i = lastAtOrBefore(epochs, epochSecond);
+        return i < 0 ? offsetsBefore[0] : offsetsAfter[i];
+    }
+
+    /**
+     * Convert a local wall-clock time, given as seconds since 1970-01-01T00:00 local,
+     * to epoch seconds. Local times repeated by a DST overlap resolve to their
+     * earlier occurrence; local times skipped by a DST gap return {@link #NONEXISTENT}.
+     */
+    public long toEpochSecond(long localSecond) {
+        return resolve(localSecond, false);
+    }
+
+    /**
+     * Like {@link #toEpochSecond(long)}, but local times skipped by a DST gap are
+     * moved forward by the length of the gap, as {@code ZonedDateTime.of} does.
+     */
+    public long toEpochSecondLenient(long localSecond) {
+        return resolve(localSecond, true);
+    }
+
+    private long resolve(long localSecond, boolean lenient) {
+        if (epochs.length == 0) {
+            return localSecond - rules.getOffset(Instant.EPOCH).getTotalSeconds();
+        }
+        if (localSecond - offsetsAfter[epochs.length - 1] >= horizonEpoch) {
+            return viaRules(localSecond, lenient);
+        }
+        int i = lastAtOrBefore(localStarts, localSecond);
+        if (i < 0) {
+            return localSecond - offsetsBefore[0];
+        }
+        int before = offsetsBefore[i];
+        int after = offsetsAfter[i];
+        if (after > before && localSecond < epochs[i] + after) {
+            return lenient ? localSecond - before : NONEXISTENT;
+        }
+        if (after < before && localSecond < epochs[i] + before) {
+            return localSecond - before;
+        }
+        return localSecond - after;
+    }
+
+    private long viaRules(long localSecond, boolean lenient) {
+        LocalDateTime local = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+        List<ZoneOffset> offsets = rules.getValidOffsets(local);
+        if (!offsets.isEmpty()) {
+            return localSecond - offsets.get(0).getTotalSeconds();
+        }
+        return lenient ? localSecond - rules.getTransition(local).getOffsetBefore().getTotalSeconds() : NONEXISTENT;
+    }
+
+    private static int lastAtOrBefore(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low - 1;
+    }
+}
@@ -0,0 +1,181 @@
+package com.schedulr.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SchemaMigrations - runs on every startup while the context is created: after
+ * Hibernate has updated the schema, before the web server takes any request and
+ * before DataInitializer. Data migrations rely on that, since a booking written
+ * in the new format before they ran would be converted a second time.
+ * Applies idempotent DDL that Hibernate's ddl-auto cannot express (exclusion
+ * constraints, partial indexes, extensions). Keep init.sql in sync for fresh
+ * databases. One-off data migrations record themselves in data_migrations.
+ * <p>
+ * A failed required migration stops startup: running without, say, the booking
+ * overlap constraint would silently allow double bookings. Optional ones, such as
+ * index changes, are only logged.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaMigrations implements InitializingBean {
+
+    private static final Map<String, Migration> MIGRATIONS = new LinkedHashMap<>();
+
+    static {
+        MIGRATIONS.put("btree_gist extension", Migration.required("CREATE EXTENSION IF NOT EXISTS btree_gist"));
+        // Reject any two BOOKED bookings of the same host whose time ranges overlap.
+        // Fails if such bookings already exist; they are logged and must be resolved by hand.
+        MIGRATIONS.put("bookings_no_overlap exclusion constraint", Migration.required("""
+                DO $$
+                BEGIN
+                    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'bookings_no_overlap') THEN
+                        ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap
+                            EXCLUDE USING gist (host_id WITH =, tsrange(start_time, end_time) WITH &&)
+                            WHERE (status = 'BOOKED');
+                    END IF;
+                END $$
+                """).diagnosedBy("Overlapping BOOKED bookings", """
+                SELECT a.host_id, a.id AS booking_id, a.start_time, a.end_time,
+                       b.id AS overlapping_id, b.start_time AS overlapping_start, b.end_time AS overlapping_end
+                FROM bookings a
+                JOIN bookings b ON b.host_id = a.host_id AND b.id > a.id
+                    AND tsrange(b.start_time, b.end_time) && tsrange(a.start_time, a.end_time)
+                WHERE a.status = 'BOOKED' AND b.status = 'BOOKED'
+                ORDER BY a.host_id, a.start_time
+                LIMIT 100
+                """));
+        // Superseded by bookings_no_overlap; kept until the constraint is in place
+        MIGRATIONS.put("drop idx_bookings_no_overlap", Migration.optional("""
+                DO $$
+                BEGIN
+                    IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'bookings_no_overlap') THEN
+                        DROP INDEX IF EXISTS idx_bookings_no_overlap;
+                    END IF;
+                END $$
+                """));
+        // At most one live hold per host and time range. Expired holds are purged
+        // first; they may overlap and nothing reads them any more.
+        MIGRATIONS.put("slot_holds_no_overlap exclusion constraint", Migration.required("""
+                DO $$
+                BEGIN
+                    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'slot_holds_no_overlap') THEN
+                        DELETE FROM slot_holds WHERE expires_at <= (now() AT TIME ZONE 'UTC');
+                        ALTER TABLE slot_holds ADD CONSTRAINT slot_holds_no_overlap
+                            EXCLUDE USING gist (host_id WITH =, tsrange(start_time, end_time) WITH &&);
+                    END IF;
+                END $$
+                """));
+        // One-off: booking times used to be the host's wall-clock time and are now UTC.
+        // Convert each host's rows from their profile zone (UTC if missing or unknown)
+        // and drop the short-lived holds rather than convert them. The marker row
+        // keeps it from running twice, and the table lock makes nodes starting
+        // together wait for the first one; the block is a single transaction.
+        MIGRATIONS.put("booking times to UTC", Migration.required("""
+                DO $$
+                BEGIN
+                    CREATE TABLE IF NOT EXISTS data_migrations (
+                        name VARCHAR(100) PRIMARY KEY,
+                        applied_at TIMESTAMP NOT NULL
+                    );
+                    LOCK TABLE data_migrations IN SHARE ROW EXCLUSIVE MODE;
+                    IF NOT EXISTS (SELECT 1 FROM data_migrations WHERE name = 'booking_times_utc') THEN
+                        UPDATE bookings b
+                        SET start_time = (b.start_time AT TIME ZONE z.zone) AT TIME ZONE 'UTC',
+                            end_time = (b.end_time AT TIME ZONE z.zone) AT TIME ZONE 'UTC'
+                        FROM (
+                            SELECT u.id,
+                                   CASE WHEN u.timezone IN (SELECT name FROM pg_timezone_names)
+                                        THEN u.timezone ELSE 'UTC' END AS zone
+                            FROM users u
+                        ) z
+                        WHERE z.id = b.host_id AND z.zone <> 'UTC';
+                        DELETE FROM slot_holds;
+                        INSERT INTO data_migrations (name, applied_at)
+                        VALUES ('booking_times_utc', now() AT TIME ZONE 'UTC');
+                    END IF;
+                END $$
+                """).diagnosedBy("Bookings that would overlap once converted to UTC", """
+                SELECT a.host_id, u.timezone, a.id AS booking_id, a.start_time, a.end_time,
+                       b.id AS overlapping_id, b.start_time AS overlapping_start, b.end_time AS overlapping_end
+                FROM bookings a
+                JOIN users u ON u.id = a.host_id
+                JOIN bookings b ON b.host_id = a.host_id AND b.id > a.id
+                    AND tsrange((b.start_time AT TIME ZONE u.timezone) AT TIME ZONE 'UTC',
+                                (b.end_time AT TIME ZONE u.timezone) AT TIME ZONE 'UTC')
+                        && tsrange((a.start_time AT TIME ZONE u.timezone) AT TIME ZONE 'UTC',
+                                   (a.end_time AT TIME ZONE u.timezone) AT TIME ZONE 'UTC')
+                WHERE a.status = 'BOOKED' AND b.status = 'BOOKED'
+                    AND u.timezone IN (SELECT name FROM pg_timezone_names)
+                ORDER BY a.host_id, a.start_time
+                LIMIT 100
+                """));
+        // Rows of one collective booking, looked up when any member cancels it
+        MIGRATIONS.put("idx_bookings_meeting_id", Migration.optional(
+                "CREATE INDEX IF NOT EXISTS idx_bookings_meeting_id ON bookings(meeting_id) WHERE meeting_id IS NOT NULL"));
+        // Keyset pagination of booking listings; also covers lookups by host_id alone
+        MIGRATIONS.put("idx_bookings_host_start_id", Migration.optional(
+                "CREATE INDEX IF NOT EXISTS idx_bookings_host_start_id ON bookings(host_id, start_time, id)"));
+        MIGRATIONS.put("drop idx_bookings_host_id", Migration.optional("DROP INDEX IF EXISTS idx_bookings_host_id"));
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        MIGRATIONS.forEach((name, migration) -> {
+            try {
+                jdbcTemplate.execute(migration.sql());
+                log.debug("Schema migration applied: {}", name);
+            } catch (Exception e) {
+                log.error("Schema migration failed: {} - {}", name, e.getMessage());
+                if (migration.required()) {
+                    logDiagnostic(migration);
+                    throw new IllegalStateException("Required schema migration failed: " + name, e);
+                }
+            }
+        });
+    }
+
+    private void logDiagnostic(Migration migration) {
+        if (migration.diagnosticSql() == null) {
+            return;
+        }
+        try {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(migration.diagnosticSql());
+            log.error("{}: {} row(s){}", migration.diagnosticTitle(), rows.size(), rows.isEmpty() ? "" : ":");
+            rows.forEach(row -> log.error("  {}", row));
+        } catch (Exception e) {
+            log.error("Could not list {}: {}", migration.diagnosticTitle(), e.getMessage());
+        }
+    }
+
+    /**
+     * @param diagnosticSql optional query whose rows are logged when the migration fails,
+     *                      to show the data that blocks it
+     */
+    record Migration(String sql, boolean required, String diagnosticTitle, String diagnosticSql) {
+
+        static Migration required(String sql) {
+            return new Migration(sql, true, null, null);
+        }
+
+        static Migration optional(String sql) {
+            return new Migration(sql, false, null, null);
+        }
+
+        Migration diagnosedBy(String title, String sql) {
+            return new Migration(this.sql, required, title, sql);
+        }
+    }
+}
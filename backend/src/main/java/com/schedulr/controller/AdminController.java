@@ -1,10 +1,12 @@
 package com.schedulr.controller;
 
+import com.schedulr.dto.CursorPage;
+import com.schedulr.dto.admin.AdminStatsDto;
 import com.schedulr.dto.user.UserDto;
 import com.schedulr.entity.Payment;
 import com.schedulr.entity.Subscription;
-import com.schedulr.repository.PaymentRepository;
-import com.schedulr.repository.SubscriptionRepository;
+import com.schedulr.service.AdminService;
+import com.schedulr.service.AdminStatsService;
 import com.schedulr.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -12,7 +14,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/admin")
@@ -21,12 +22,20 @@ import java.util.Map;
 public class AdminController {
 
     private final UserService userService;
-    private final SubscriptionRepository subscriptionRepository;
-    private final PaymentRepository paymentRepository;
+    private final AdminService adminService;
+    private final AdminStatsService adminStatsService;
 
+    /**
+     * List endpoints return one page as a plain array, newest first; the id to
+     * pass as {@code cursor} for the next page, if any, is in the X-Next-Cursor header.
+     */
     @GetMapping("/users")
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<List<UserDto>> getAllUsers(@RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String search) {
+        return toResponse(adminService.getUsers(cursor, limit, role, active, search));
     }
 
     @PatchMapping("/users/{userId}/toggle")
@@ -35,23 +44,31 @@ public class AdminController {
     }
 
     @GetMapping("/subscriptions")
-    public ResponseEntity<List<Subscription>> getAllSubscriptions() {
-        return ResponseEntity.ok(subscriptionRepository.findAll());
+    public ResponseEntity<List<Subscription>> getAllSubscriptions(@RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String plan,
+            @RequestParam(required = false) String status) {
+        return toResponse(adminService.getSubscriptions(cursor, limit, plan, status));
     }
 
     @GetMapping("/payments")
-    public ResponseEntity<List<Payment>> getAllPayments() {
-        return ResponseEntity.ok(paymentRepository.findAll());
+    public ResponseEntity<List<Payment>> getAllPayments(@RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long userId) {
+        return toResponse(adminService.getPayments(cursor, limit, status, userId));
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getStats() {
-        long totalUsers = userService.getAllUsers().size();
-        long totalSubscriptions = subscriptionRepository.count();
-        long totalPayments = paymentRepository.count();
-        return ResponseEntity.ok(Map.of(
-                "totalUsers", totalUsers,
-                "totalSubscriptions", totalSubscriptions,
-                "totalPayments", totalPayments));
+    public ResponseEntity<AdminStatsDto> getStats() {
+        return ResponseEntity.ok(adminStatsService.getStats());
+    }
+
+    private <T> ResponseEntity<List<T>> toResponse(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 }
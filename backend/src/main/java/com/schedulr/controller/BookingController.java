@@ -1,10 +1,16 @@
 package com.schedulr.controller;
 
+import com.schedulr.dto.CursorPage;
 import com.schedulr.dto.booking.BookingDto;
+import com.schedulr.service.BookingExportService;
 import com.schedulr.service.BookingService;
+import com.schedulr.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -15,20 +21,52 @@ import java.util.Map;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
+    private final UserService userService;
 
+    /**
+     * List endpoints return one page as a plain array; the cursor for the next
+     * page, if any, is in the X-Next-Cursor header.
+     */
     @GetMapping
-    public ResponseEntity<List<BookingDto>> getMyBookings() {
-        return ResponseEntity.ok(bookingService.getMyBookings());
+    public ResponseEntity<List<BookingDto>> getMyBookings(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return toResponse(bookingService.getMyBookings(cursor, limit));
     }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<List<BookingDto>> getUpcomingBookings() {
-        return ResponseEntity.ok(bookingService.getUpcomingBookings());
+    public ResponseEntity<List<BookingDto>> getUpcomingBookings(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return toResponse(bookingService.getUpcomingBookings(cursor, limit));
     }
 
     @GetMapping("/past")
-    public ResponseEntity<List<BookingDto>> getPastBookings() {
-        return ResponseEntity.ok(bookingService.getPastBookings());
+    public ResponseEntity<List<BookingDto>> getPastBookings(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return toResponse(bookingService.getPastBookings(cursor, limit));
+    }
+
+    /**
+     * Stream the full booking history as CSV or NDJSON without paging.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(@RequestParam(defaultValue = "csv") String format) {
+        String normalized = BookingExportService.normalizeFormat(format);
+        // Resolve the host and reserve a slot on the request thread, so a refusal is
+        // still a plain 503; the body is written on an async thread
+        Long hostId = userService.getCurrentUserId();
+        BookingExportService.Permit permit = bookingExportService.reserve();
+        MediaType contentType = BookingExportService.FORMAT_NDJSON.equals(normalized)
+                ? MediaType.parseMediaType("application/x-ndjson")
+                : MediaType.parseMediaType("text/csv;charset=UTF-8");
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings." + normalized + "\"")
+                .body(out -> {
+                    try (permit) {
+                        bookingExportService.export(hostId, normalized, out);
+                    }
+                });
     }
 
     @PatchMapping("/{id}/cancel")
@@ -37,4 +75,12 @@ public class BookingController {
         String reason = body != null ? body.get("reason") : null;
         return ResponseEntity.ok(bookingService.cancelBooking(id, reason));
     }
+
+    private ResponseEntity<List<BookingDto>> toResponse(CursorPage<BookingDto> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
 }
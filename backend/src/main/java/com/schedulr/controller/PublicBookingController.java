@@ -2,25 +2,32 @@ package com.schedulr.controller;
 
 import com.schedulr.dto.booking.BookingDto;
 import com.schedulr.dto.booking.BookingRequest;
+import com.schedulr.dto.booking.SlotHoldDto;
+import com.schedulr.dto.booking.SlotHoldRequest;
 import com.schedulr.dto.booking.TimeSlotDto;
 import com.schedulr.dto.eventtype.EventTypeDto;
 import com.schedulr.dto.user.UserDto;
-import com.schedulr.entity.User;
-import com.schedulr.exception.ResourceNotFoundException;
-import com.schedulr.repository.EventTypeRepository;
-import com.schedulr.repository.UserRepository;
 import com.schedulr.service.BookingService;
 import com.schedulr.service.EventTypeService;
+import com.schedulr.service.ScheduleVersionService;
+import com.schedulr.service.SlotHoldService;
+import com.schedulr.service.SlotStreamService;
 import com.schedulr.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Public booking endpoints - no authentication required.
@@ -33,30 +40,67 @@ public class PublicBookingController {
 
     private final BookingService bookingService;
     private final EventTypeService eventTypeService;
+    private final SlotHoldService slotHoldService;
+    private final ScheduleVersionService scheduleVersionService;
+    private final SlotStreamService slotStreamService;
     private final UserService userService;
-    private final UserRepository userRepository;
-    private final EventTypeRepository eventTypeRepository;
 
     @GetMapping("/{username}")
-    public ResponseEntity<UserDto> getPublicProfile(@PathVariable String username) {
-        return ResponseEntity.ok(userService.getUserByUsername(username));
+    public ResponseEntity<UserDto> getPublicProfile(@PathVariable String username, WebRequest request) {
+        return conditional(request, scheduleVersionService.hostETag(username),
+                () -> userService.getUserByUsername(username));
     }
 
     @GetMapping("/{username}/event-types")
-    public ResponseEntity<List<EventTypeDto>> getPublicEventTypes(@PathVariable String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
-        List<EventTypeDto> eventTypes = eventTypeRepository.findByUserIdAndActiveTrue(user.getId())
-                .stream().map(eventTypeService::toDto).toList();
-        return ResponseEntity.ok(eventTypes);
+    public ResponseEntity<List<EventTypeDto>> getPublicEventTypes(@PathVariable String username,
+            WebRequest request) {
+        return conditional(request, scheduleVersionService.hostETag(username),
+                () -> eventTypeService.getActiveEventTypesByUsername(username));
     }
 
     @GetMapping("/{username}/slots")
     public ResponseEntity<List<TimeSlotDto>> getAvailableSlots(
             @PathVariable String username,
             @RequestParam Long eventTypeId,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        return ResponseEntity.ok(bookingService.getAvailableSlots(username, eventTypeId, date));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String timezone,
+            WebRequest request) {
+        return conditional(request, scheduleVersionService.slotsETag(username, eventTypeId),
+                () -> bookingService.getAvailableSlots(username, eventTypeId, date, timezone));
+    }
+
+    /**
+     * The next {@code count} available slots (at most 20) from today on, searching
+     * up to 60 days ahead.
+     */
+    @GetMapping("/{username}/next-slots")
+    public ResponseEntity<List<TimeSlotDto>> getNextAvailableSlots(
+            @PathVariable String username,
+            @RequestParam Long eventTypeId,
+            @RequestParam(required = false) Integer count,
+            @RequestParam(required = false) String timezone) {
+        return ResponseEntity.ok(bookingService.getNextAvailableSlots(username, eventTypeId, count, timezone));
+    }
+
+    /**
+     * Stream the available slots of [from, to] (up to 90 days) as NDJSON, one line
+     * per day, written as each day is computed.
+     */
+    @GetMapping("/{username}/slots/range")
+    public ResponseEntity<StreamingResponseBody> streamAvailableSlots(
+            @PathVariable String username,
+            @RequestParam Long eventTypeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String timezone) {
+        slotStreamService.checkRange(from, to);
+        // Resolve the query on the request thread; the body is written on an async thread
+        BookingService.SlotQuery query = bookingService.resolveSlotQuery(username, eventTypeId, timezone);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                // Ask proxies such as nginx to pass lines through instead of buffering them
+                .header("X-Accel-Buffering", "no")
+                .body(out -> slotStreamService.stream(query, from, to, out));
     }
 
     @PostMapping("/{username}/book")
@@ -64,4 +108,29 @@ public class PublicBookingController {
             @Valid @RequestBody BookingRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED).body(bookingService.createBooking(username, request));
     }
+
+    @PostMapping("/{username}/hold")
+    public ResponseEntity<SlotHoldDto> placeHold(@PathVariable String username,
+            @Valid @RequestBody SlotHoldRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(slotHoldService.placeHold(username, request));
+    }
+
+    @DeleteMapping("/{username}/hold/{token}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String username, @PathVariable String token) {
+        slotHoldService.releaseHold(username, token);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Answer with 304 if the client's If-None-Match matches {@code etag}, without
+     * computing the body. Responses must be revalidated on every use. An empty
+     * {@code etag} (unknown host) lets {@code body} produce the usual error.
+     */
+    private static <T> ResponseEntity<T> conditional(WebRequest request, Optional<String> etag, Supplier<T> body) {
+        // checkNotModified also sets the ETag header, and the 304 status on a match
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body.get());
+    }
 }
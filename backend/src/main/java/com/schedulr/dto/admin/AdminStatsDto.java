@@ -0,0 +1,23 @@
+package com.schedulr.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminStatsDto {
+    private long totalUsers;
+    private long activeUsers;
+    private long totalSubscriptions;
+    private long totalPayments;
+    private Map<String, Long> bookingsByStatus;
+    private Map<String, Long> subscriptionsByPlan;
+    private LocalDateTime reconciledAt;
+}
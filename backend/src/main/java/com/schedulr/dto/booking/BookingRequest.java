@@ -23,4 +23,10 @@ public class BookingRequest {
     private LocalDateTime startTime;
 
     private String notes;
+
+    /** Token of a slot hold placed via /public/{username}/hold, consumed by this booking. */
+    private String holdToken;
+
+    /** Zone of startTime (the guest's zone); defaults to the host's zone. */
+    private String timezone;
 }
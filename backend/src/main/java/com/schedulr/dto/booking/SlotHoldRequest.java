@@ -0,0 +1,18 @@
+package com.schedulr.dto.booking;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class SlotHoldRequest {
+    @NotNull(message = "Event type ID is required")
+    private Long eventTypeId;
+
+    @NotNull(message = "Start time is required")
+    private LocalDateTime startTime;
+
+    /** Zone of startTime (the guest's zone); defaults to the host's zone. */
+    private String timezone;
+}
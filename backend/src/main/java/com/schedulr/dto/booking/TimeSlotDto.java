@@ -14,5 +14,7 @@ import java.time.LocalDateTime;
 public class TimeSlotDto {
     private LocalDateTime startTime;
     private LocalDateTime endTime;
+    /** Zone that startTime and endTime are expressed in. */
+    private String timezone;
     private boolean available;
 }
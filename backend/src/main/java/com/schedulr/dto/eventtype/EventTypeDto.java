@@ -23,5 +23,7 @@ public class EventTypeDto {
     private Integer bufferAfter;
     private Boolean active;
     private String color;
+    private Long teamId;
+    private String schedulingType;
     private LocalDateTime createdAt;
 }
@@ -21,4 +21,7 @@ public class EventTypeRequest {
     private Integer bufferBefore = 0;
     private Integer bufferAfter = 0;
     private String color = "#3B82F6";
+    /** Required for team scheduling types; must be a team the caller owns. */
+    private Long teamId;
+    private String schedulingType = "INDIVIDUAL";
 }
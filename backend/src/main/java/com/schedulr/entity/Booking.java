@@ -37,6 +37,10 @@ public class Booking {
     @Column(name = "guest_email", nullable = false)
     private String guestEmail;
 
+    /** Zone the guest booked in; null for bookings made before it was recorded. */
+    @Column(name = "guest_timezone", length = 100)
+    private String guestTimezone;
+
     @Column(name = "start_time", nullable = false)
     private LocalDateTime startTime;
 
@@ -53,6 +57,10 @@ public class Booking {
     @Column(name = "meeting_link")
     private String meetingLink;
 
+    /** Shared by the per-member rows of one collective booking; null otherwise. */
+    @Column(name = "meeting_id", length = 36)
+    private String meetingId;
+
     @Column(name = "cancellation_reason")
     private String cancellationReason;
 
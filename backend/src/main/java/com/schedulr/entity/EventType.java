@@ -25,6 +25,21 @@ public class EventType {
     @EqualsAndHashCode.Exclude
     private User user;
 
+    /** Team whose members host this event type; null for individual event types. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "team_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Team team;
+
+    /**
+     * INDIVIDUAL, COLLECTIVE when every team member must be free, or ROUND_ROBIN when
+     * each booking goes to one free member.
+     */
+    @Column(name = "scheduling_type")
+    @Builder.Default
+    private String schedulingType = "INDIVIDUAL";
+
     @Column(nullable = false)
     private String name;
 
@@ -0,0 +1,31 @@
+package com.schedulr.event;
+
+/**
+ * Published when an account or subscription changes in a way that affects the
+ * admin statistics. Like {@link ScheduleChangedEvent}, listeners react after commit.
+ *
+ * @param previousPlan plan before a PLAN_CHANGED, or null for a new subscription
+ * @param plan         plan after a PLAN_CHANGED
+ * @param email        the account whose active flag changed, for USER_ACTIVATED and USER_DEACTIVATED
+ */
+public record AccountChangedEvent(Kind kind, String previousPlan, String plan, String email) {
+
+    public enum Kind {
+        USER_CREATED,
+        USER_ACTIVATED,
+        USER_DEACTIVATED,
+        PLAN_CHANGED
+    }
+
+    public static AccountChangedEvent userCreated() {
+        return new AccountChangedEvent(Kind.USER_CREATED, null, null, null);
+    }
+
+    public static AccountChangedEvent userActiveChanged(String email, boolean active) {
+        return new AccountChangedEvent(active ? Kind.USER_ACTIVATED : Kind.USER_DEACTIVATED, null, null, email);
+    }
+
+    public static AccountChangedEvent planChanged(String previousPlan, String plan) {
+        return new AccountChangedEvent(Kind.PLAN_CHANGED, previousPlan, plan, null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.schedulr.event;
+
+/**
+ * Published when a round-robin booking is assigned to a team member or a
+ * round-robin booking is cancelled. Listeners react after commit or rollback.
+ */
+public record RoundRobinEvent(Long eventTypeId, Long hostId, Kind kind) {
+
+    public enum Kind {
+        ASSIGNED,
+        RELEASED
+    }
+
+    public static RoundRobinEvent assigned(Long eventTypeId, Long hostId) {
+        return new RoundRobinEvent(eventTypeId, hostId, Kind.ASSIGNED);
+    }
+
+    public static RoundRobinEvent released(Long eventTypeId, Long hostId) {
+        return new RoundRobinEvent(eventTypeId, hostId, Kind.RELEASED);
+    }
+}
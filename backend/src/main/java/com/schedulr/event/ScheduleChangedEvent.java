@@ -0,0 +1,48 @@
+package com.schedulr.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published whenever something that affects a host's bookable time changes.
+ * Listeners react after the surrounding transaction commits, so caches never
+ * observe data that is later rolled back.
+ *
+ * @param start start of the affected booking window, or null if not booking-specific
+ * @param end   end of the affected booking window, or null if not booking-specific
+ */
+public record ScheduleChangedEvent(Long hostId, Kind kind, LocalDateTime start, LocalDateTime end) {
+
+    public enum Kind {
+        BOOKING_CREATED,
+        BOOKING_CANCELLED,
+        AVAILABILITY_CHANGED,
+        EVENT_TYPE_CHANGED,
+        HOLDS_CHANGED,
+        PROFILE_CHANGED
+    }
+
+    public static ScheduleChangedEvent bookingCreated(Long hostId, LocalDateTime start, LocalDateTime end) {
+        return new ScheduleChangedEvent(hostId, Kind.BOOKING_CREATED, start, end);
+    }
+
+    public static ScheduleChangedEvent bookingCancelled(Long hostId, LocalDateTime start, LocalDateTime end) {
+        return new ScheduleChangedEvent(hostId, Kind.BOOKING_CANCELLED, start, end);
+    }
+
+    public static ScheduleChangedEvent availabilityChanged(Long hostId) {
+        return new ScheduleChangedEvent(hostId, Kind.AVAILABILITY_CHANGED, null, null);
+    }
+
+    public static ScheduleChangedEvent eventTypeChanged(Long hostId) {
+        return new ScheduleChangedEvent(hostId, Kind.EVENT_TYPE_CHANGED, null, null);
+    }
+
+    public static ScheduleChangedEvent holdsChanged(Long hostId) {
+        return new ScheduleChangedEvent(hostId, Kind.HOLDS_CHANGED, null, null);
+    }
+
+    /** The host's username or time zone changed. */
+    public static ScheduleChangedEvent profileChanged(Long hostId) {
+        return new ScheduleChangedEvent(hostId, Kind.PROFILE_CHANGED, null, null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.schedulr.exception;
+
+/**
+ * Thrown when the server sheds load instead of queueing more work. Raised on
+ * every rejected request during a burst, so it carries no stack trace.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
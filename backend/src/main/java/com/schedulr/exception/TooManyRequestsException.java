@@ -0,0 +1,19 @@
+package com.schedulr.exception;
+
+/**
+ * Thrown when a rate limit is exceeded. Raised on every rejected request during a
+ * flood, so it carries no stack trace.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -4,6 +4,7 @@ import com.schedulr.entity.AvailabilityRule;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,8 @@ public interface AvailabilityRuleRepository extends JpaRepository<AvailabilityRu
 
     List<AvailabilityRule> findByUserIdAndIsAvailableTrue(Long userId);
 
+    List<AvailabilityRule> findByUserIdInAndIsAvailableTrue(Collection<Long> userIds);
+
     Optional<AvailabilityRule> findByUserIdAndDayOfWeek(Long userId, String dayOfWeek);
 
     void deleteByUserId(Long userId);
@@ -1,38 +1,86 @@
 package com.schedulr.repository;
 
+import com.schedulr.dto.booking.BookingDto;
 import com.schedulr.entity.Booking;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findByHostIdOrderByStartTimeDesc(Long hostId);
+    // Constructor projection; argument order follows BookingDto's fields
+    String BOOKING_DTO = "SELECT new com.schedulr.dto.booking.BookingDto(b.id, h.id, h.name, h.email, " +
+            "e.id, e.name, e.durationMinutes, b.guestName, b.guestEmail, b.startTime, b.endTime, " +
+            "b.status, b.notes, b.meetingLink, b.createdAt) FROM Booking b JOIN b.host h JOIN b.eventType e ";
+
+    @Query("SELECT b.status, COUNT(b) FROM Booking b GROUP BY b.status")
+    List<Object[]> countGroupedByStatus();
 
     List<Booking> findByHostIdAndStatusOrderByStartTimeAsc(Long hostId, String status);
 
-    @Query("SELECT b FROM Booking b WHERE b.host.id = :hostId AND b.startTime >= :from AND b.startTime <= :to AND b.status = 'BOOKED' ORDER BY b.startTime ASC")
-    List<Booking> findUpcomingByHostId(@Param("hostId") Long hostId,
-            @Param("from") LocalDateTime from,
-            @Param("to") LocalDateTime to);
+    // Keyset pages over (start_time, id), served by idx_bookings_host_start_id.
+    // The redundant startTime bound gives the planner an index range to start from.
+
+    @Query(BOOKING_DTO + "WHERE b.host.id = :hostId " +
+            "ORDER BY b.startTime DESC, b.id DESC")
+    List<BookingDto> findFirstPageByHostId(@Param("hostId") Long hostId, Limit limit);
 
-    @Query("SELECT b FROM Booking b WHERE b.host.id = :hostId AND b.startTime < :now AND b.status != 'CANCELLED' ORDER BY b.startTime DESC")
-    List<Booking> findPastByHostId(@Param("hostId") Long hostId, @Param("now") LocalDateTime now);
+    @Query(BOOKING_DTO + "WHERE b.host.id = :hostId AND " +
+            "b.startTime <= :cursorStart AND (b.startTime < :cursorStart OR b.id < :cursorId) " +
+            "ORDER BY b.startTime DESC, b.id DESC")
+    List<BookingDto> findPageByHostId(@Param("hostId") Long hostId,
+            @Param("cursorStart") LocalDateTime cursorStart,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
 
-    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.host.id = :hostId AND b.status = 'BOOKED' AND " +
-            "((b.startTime < :endTime AND b.endTime > :startTime))")
-    boolean existsOverlappingBooking(@Param("hostId") Long hostId,
-            @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime);
+    @Query(BOOKING_DTO + "WHERE b.host.id = :hostId AND " +
+            "b.status = 'BOOKED' AND b.startTime <= :to AND " +
+            "b.startTime >= :cursorStart AND (b.startTime > :cursorStart OR b.id > :cursorId) " +
+            "ORDER BY b.startTime ASC, b.id ASC")
+    List<BookingDto> findUpcomingPageByHostId(@Param("hostId") Long hostId,
+            @Param("cursorStart") LocalDateTime cursorStart,
+            @Param("cursorId") Long cursorId,
+            @Param("to") LocalDateTime to,
+            Limit limit);
+
+    @Query(BOOKING_DTO + "WHERE b.host.id = :hostId AND " +
+            "b.status != 'CANCELLED' AND " +
+            "b.startTime <= :cursorStart AND (b.startTime < :cursorStart OR b.id < :cursorId) " +
+            "ORDER BY b.startTime DESC, b.id DESC")
+    List<BookingDto> findPastPageByHostId(@Param("hostId") Long hostId,
+            @Param("cursorStart") LocalDateTime cursorStart,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
 
     @Query("SELECT b FROM Booking b WHERE b.host.id = :hostId AND b.status = 'BOOKED' AND " +
             "b.startTime >= :from AND b.startTime <= :to")
     List<Booking> findBookedSlots(@Param("hostId") Long hostId,
             @Param("from") LocalDateTime from,
             @Param("to") LocalDateTime to);
+
+    @Query("SELECT b FROM Booking b WHERE b.host.id = :hostId AND b.status = 'BOOKED' AND " +
+            "b.startTime < :to AND b.endTime > :from")
+    List<Booking> findBookedOverlapping(@Param("hostId") Long hostId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("SELECT b FROM Booking b WHERE b.host.id IN :hostIds AND b.status = 'BOOKED' AND " +
+            "b.startTime < :to AND b.endTime > :from")
+    List<Booking> findBookedOverlappingForHosts(@Param("hostIds") Collection<Long> hostIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.host WHERE b.meetingId = :meetingId AND b.status = 'BOOKED'")
+    List<Booking> findBookedByMeetingId(@Param("meetingId") String meetingId);
+
+    @Query("SELECT b.eventType.id, b.host.id, COUNT(b) FROM Booking b WHERE b.eventType.id IN :eventTypeIds " +
+            "AND b.status = 'BOOKED' GROUP BY b.eventType.id, b.host.id")
+    List<Object[]> countBookedByEventTypeAndHost(@Param("eventTypeIds") Collection<Long> eventTypeIds);
 }
@@ -0,0 +1,35 @@
+package com.schedulr.repository;
+
+import com.schedulr.entity.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Lock a batch of due messages. SENDING rows whose lease ran out (e.g. the node
+     * delivering them crashed) are due again. Rows locked by other nodes are skipped.
+     */
+    @Query(value = "SELECT * FROM email_outbox WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutbox> lockDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Delete up to {@code limit} SENT messages last updated before {@code sentBefore}
+     * and DEAD ones before {@code deadBefore}, so that a large backlog is purged in
+     * short transactions.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM email_outbox WHERE id IN (SELECT id FROM email_outbox " +
+            "WHERE (status = 'SENT' AND updated_at < :sentBefore) OR (status = 'DEAD' AND updated_at < :deadBefore) " +
+            "LIMIT :limit)", nativeQuery = true)
+    int deleteFinished(@Param("sentBefore") LocalDateTime sentBefore, @Param("deadBefore") LocalDateTime deadBefore,
+            @Param("limit") int limit);
+}
@@ -1,7 +1,10 @@
 package com.schedulr.repository;
 
+import com.schedulr.dto.eventtype.EventTypeDto;
 import com.schedulr.entity.EventType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,9 +12,22 @@ import java.util.Optional;
 
 @Repository
 public interface EventTypeRepository extends JpaRepository<EventType, Long> {
+
+    // Constructor projection; argument order follows EventTypeDto's fields
+    String EVENT_TYPE_DTO = "SELECT new com.schedulr.dto.eventtype.EventTypeDto(e.id, e.user.id, e.name, " +
+            "e.description, e.durationMinutes, e.locationType, e.locationDetails, e.bufferBefore, " +
+            "e.bufferAfter, e.active, e.color, t.id, e.schedulingType, e.createdAt) " +
+            "FROM EventType e LEFT JOIN e.team t ";
+
     List<EventType> findByUserIdAndActiveTrue(Long userId);
 
     List<EventType> findByUserId(Long userId);
 
     Optional<EventType> findByIdAndUserId(Long id, Long userId);
+
+    @Query(EVENT_TYPE_DTO + "WHERE e.user.id = :userId")
+    List<EventTypeDto> findDtosByUserId(@Param("userId") Long userId);
+
+    @Query(EVENT_TYPE_DTO + "WHERE e.user.id = :userId AND e.active = true")
+    List<EventTypeDto> findActiveDtosByUserId(@Param("userId") Long userId);
 }
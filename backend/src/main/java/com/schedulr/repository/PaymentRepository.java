@@ -1,7 +1,10 @@
 package com.schedulr.repository;
 
 import com.schedulr.entity.Payment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +12,12 @@ import java.util.List;
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    // Admin listing: newest first, keyset on id. Null filters are ignored.
+    @Query("SELECT p FROM Payment p WHERE p.id < :cursor AND (:status IS NULL OR p.status = :status) AND " +
+            "(:userId IS NULL OR p.user.id = :userId) ORDER BY p.id DESC")
+    List<Payment> findAdminPage(@Param("cursor") Long cursor,
+            @Param("status") String status,
+            @Param("userId") Long userId,
+            Limit limit);
 }
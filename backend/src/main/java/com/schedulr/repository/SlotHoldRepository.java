@@ -0,0 +1,38 @@
+package com.schedulr.repository;
+
+import com.schedulr.entity.SlotHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SlotHoldRepository extends JpaRepository<SlotHold, Long> {
+
+    Optional<SlotHold> findByToken(String token);
+
+    @Query("SELECT h FROM SlotHold h WHERE h.hostId = :hostId AND h.expiresAt > :now ORDER BY h.startTime ASC")
+    List<SlotHold> findActiveByHostId(@Param("hostId") Long hostId, @Param("now") LocalDateTime now);
+
+    /**
+     * Whether a live hold other than {@code exceptToken} overlaps [start, end).
+     */
+    @Query("SELECT COUNT(h) > 0 FROM SlotHold h WHERE h.hostId = :hostId AND h.startTime < :end "
+            + "AND h.endTime > :start AND h.expiresAt > :now AND h.token <> :exceptToken")
+    boolean existsOverlapping(@Param("hostId") Long hostId, @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end, @Param("exceptToken") String exceptToken,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM SlotHold h WHERE h.hostId = :hostId AND h.expiresAt <= :now")
+    int deleteExpiredByHostId(@Param("hostId") Long hostId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM SlotHold h WHERE h.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,12 +1,27 @@
 package com.schedulr.repository;
 
 import com.schedulr.entity.Subscription;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
     Optional<Subscription> findByUserId(Long userId);
+
+    @Query("SELECT s.plan, COUNT(s) FROM Subscription s GROUP BY s.plan")
+    List<Object[]> countGroupedByPlan();
+
+    // Admin listing: newest first, keyset on id. Null filters are ignored.
+    @Query("SELECT s FROM Subscription s WHERE s.id < :cursor AND (:plan IS NULL OR s.plan = :plan) AND " +
+            "(:status IS NULL OR s.status = :status) ORDER BY s.id DESC")
+    List<Subscription> findAdminPage(@Param("cursor") Long cursor,
+            @Param("plan") String plan,
+            @Param("status") String status,
+            Limit limit);
 }
@@ -0,0 +1,17 @@
+package com.schedulr.repository;
+
+import com.schedulr.entity.TeamMember;
+import com.schedulr.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
+
+    @Query("SELECT u FROM TeamMember m JOIN m.user u WHERE m.team.id = :teamId AND u.active = true ORDER BY u.id")
+    List<User> findActiveUsersByTeamId(@Param("teamId") Long teamId);
+}
@@ -1,9 +1,13 @@
 package com.schedulr.repository;
 
 import com.schedulr.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,7 +16,35 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
 
+    Optional<HostView> findHostByUsername(String username);
+
     boolean existsByEmail(String email);
 
     boolean existsByUsername(String username);
+
+    long countByActiveTrue();
+
+    // Admin listing: newest first, keyset on id. Null filters are ignored.
+    @Query("SELECT u FROM User u WHERE u.id < :cursor AND (:role IS NULL OR u.role = :role) AND " +
+            "(:active IS NULL OR u.active = :active) AND " +
+            "(:prefix IS NULL OR LOWER(u.email) LIKE :prefix OR u.username LIKE :prefix) ORDER BY u.id DESC")
+    List<User> findAdminPage(@Param("cursor") Long cursor,
+            @Param("role") String role,
+            @Param("active") Boolean active,
+            @Param("prefix") String prefix,
+            Limit limit);
+
+    // Empty for event types without a team
+    @Query("SELECT u.id FROM EventType e JOIN e.team t, TeamMember m JOIN m.user u " +
+            "WHERE e.id = :eventTypeId AND m.team = t AND u.active = true ORDER BY u.id")
+    List<Long> findActiveTeamMemberIds(@Param("eventTypeId") Long eventTypeId);
+
+    /**
+     * What the public booking pages need to resolve a username.
+     */
+    interface HostView {
+        Long getId();
+
+        String getTimezone();
+    }
 }
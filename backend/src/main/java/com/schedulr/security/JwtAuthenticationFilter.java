@@ -1,5 +1,8 @@
 package com.schedulr.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,44 +10,83 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
+/**
+ * Authenticates requests from the bearer token: the token is parsed once and the
+ * user's id, role and active flag come from {@link UserStatusCache}, so no query
+ * runs on the common path and a role change applies within the cache TTL rather
+ * than when the token expires.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final UserStatusCache userStatusCache;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "anonymous";
         try {
             String jwt = getJwtFromRequest(request);
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            Claims claims = StringUtils.hasText(jwt) ? jwtTokenProvider.parseClaims(jwt) : null;
+            if (StringUtils.hasText(jwt)) {
+                outcome = "rejected";
+            }
+            if (claims != null) {
+                UserPrincipal principal = resolvePrincipal(claims);
+                if (principal != null) {
+                    outcome = "authenticated";
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            principal, null, List.of(new SimpleGrantedAuthority("ROLE_" + principal.role())));
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
+            outcome = "error";
         }
+        // Only the authentication work is timed, not the rest of the chain
+        sample.stop(Timer.builder("security.jwt.filter")
+                .description("Time to authenticate a request from its bearer token, by outcome")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
         filterChain.doFilter(request, response);
     }
 
+    private UserPrincipal resolvePrincipal(Claims claims) {
+        String email = claims.getSubject();
+        UserStatusCache.UserStatus status = userStatusCache.get(email);
+        if (status == null || !status.active()) {
+            log.debug("Rejecting token for missing or deactivated user: {}", email);
+            return null;
+        }
+        // The id claim only detects a token for an account since re-created under the
+        // same email; the role claim is never trusted over the current status
+        Number userId = claims.get(JwtTokenProvider.CLAIM_USER_ID, Number.class);
+        if (userId != null && userId.longValue() != status.id()) {
+            log.debug("Rejecting token issued to a previous account with email: {}", email);
+            return null;
+        }
+        return new UserPrincipal(status.id(), email, status.role());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,78 @@
+package com.schedulr.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Throttles the unauthenticated endpoints per client IP and per target username.
+ * Registered in {@link com.schedulr.config.WebConfig} for /auth/** and the public
+ * booking paths. Runs after CORS processing, so browsers can read the 429 and its
+ * Retry-After header.
+ * <p>
+ * Behind proxies the remote address is the last proxy's, shared by every client.
+ * The client is then taken from X-Forwarded-For, counting {@code trusted-proxies}
+ * entries from the right: each trusted proxy appends the address it received the
+ * request from, so entries further left are whatever the client sent and are
+ * never trusted.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private final RateLimiter rateLimiter;
+    private final int trustedProxies;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter,
+            @Value("${app.rate-limit.trusted-proxies:0}") int trustedProxies) {
+        this.rateLimiter = rateLimiter;
+        this.trustedProxies = trustedProxies;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+        String ip = clientAddress(request);
+        if (request.getServletPath().startsWith("/auth/")) {
+            rateLimiter.check(RateLimiter.AUTH_IP, ip);
+            return true;
+        }
+        rateLimiter.check(RateLimiter.PUBLIC_IP, ip);
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String username = variables != null ? variables.get("username") : null;
+        if (username != null) {
+            rateLimiter.check(RateLimiter.PUBLIC_HOST, username);
+        }
+        return true;
+    }
+
+    /**
+     * The address the first trusted proxy received the request from, or the remote
+     * address when no proxies are trusted or none added a header.
+     */
+    String clientAddress(HttpServletRequest request) {
+        if (trustedProxies <= 0) {
+            return request.getRemoteAddr();
+        }
+        String forwardedFor = request.getHeader(X_FORWARDED_FOR);
+        if (forwardedFor == null || forwardedFor.isBlank()) {
+            return request.getRemoteAddr();
+        }
+        String[] hops = forwardedFor.split(",");
+        // Fewer entries than proxies means the request skipped the outer ones; the
+        // leftmost entry was then appended by a trusted proxy as well
+        String client = hops[Math.max(hops.length - trustedProxies, 0)].trim();
+        return client.isEmpty() ? request.getRemoteAddr() : client;
+    }
+}
@@ -0,0 +1,159 @@
+package com.schedulr.security;
+
+import com.schedulr.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process token-bucket rate limiter with named limits.
+ * Each bucket is a single "theoretical arrival time" updated by compare-and-set
+ * (the GCRA form of a token bucket), so checks are lock-free and allocate nothing
+ * once a key has a bucket. A bucket whose arrival time has passed is full and
+ * indistinguishable from a new one, which is what lets idle keys be evicted.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    /** Requests to /auth/** per client IP. */
+    public static final String AUTH_IP = "auth.ip";
+    /** Login attempts per account email, from any IP. */
+    public static final String AUTH_ACCOUNT = "auth.account";
+    /** Requests to the public booking endpoints per client IP. */
+    public static final String PUBLIC_IP = "public.ip";
+    /** Requests to the public booking endpoints per target username, from any IP. */
+    public static final String PUBLIC_HOST = "public.host";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final int maxKeys;
+    private final Map<String, Limit> limits;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RateLimiter(@Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.max-keys:100000}") int maxKeys,
+            @Value("${app.rate-limit.auth.ip.capacity:20}") int authIpCapacity,
+            @Value("${app.rate-limit.auth.ip.per-minute:10}") int authIpPerMinute,
+            @Value("${app.rate-limit.auth.account.capacity:10}") int authAccountCapacity,
+            @Value("${app.rate-limit.auth.account.per-minute:5}") int authAccountPerMinute,
+            @Value("${app.rate-limit.public.ip.capacity:120}") int publicIpCapacity,
+            @Value("${app.rate-limit.public.ip.per-minute:600}") int publicIpPerMinute,
+            @Value("${app.rate-limit.public.host.capacity:1000}") int publicHostCapacity,
+            @Value("${app.rate-limit.public.host.per-minute:6000}") int publicHostPerMinute,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxKeys = maxKeys;
+        this.limits = Map.of(
+                AUTH_IP, new Limit(authIpCapacity, authIpPerMinute),
+                AUTH_ACCOUNT, new Limit(authAccountCapacity, authAccountPerMinute),
+                PUBLIC_IP, new Limit(publicIpCapacity, publicIpPerMinute),
+                PUBLIC_HOST, new Limit(publicHostCapacity, publicHostPerMinute));
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Take one token from {@code key}'s bucket under the named limit.
+     *
+     * @throws TooManyRequestsException if the bucket is empty
+     */
+    public void check(String limitName, String key) {
+        if (!enabled) {
+            return;
+        }
+        Limit limit = limits.get(limitName);
+        long now = System.nanoTime();
+        Bucket bucket = bucket(limitName + ':' + key, now);
+        if (bucket == null) {
+            return;
+        }
+        long waitNanos = bucket.tryAcquire(now, limit);
+        if (waitNanos > 0) {
+            meterRegistry.counter("ratelimit.rejected", "limit", limitName).increment();
+            long retryAfterSeconds = (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+            throw new TooManyRequestsException("Too many requests. Please try again later.", retryAfterSeconds);
+        }
+    }
+
+    /**
+     * @return the key's bucket, or null if the limiter is full even after evicting idle buckets
+     */
+    private Bucket bucket(String key, long now) {
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            evictIdle();
+            if (buckets.size() >= maxKeys) {
+                // Fail open rather than let a flood of new keys grow memory without bound
+                meterRegistry.counter("ratelimit.untracked").increment();
+                return null;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(now));
+    }
+
+    /**
+     * Drop the buckets that have refilled completely. A request racing with this may
+     * take its token from a dropped bucket, letting that key through once more.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        if (before > buckets.size()) {
+            log.debug("Evicted {} idle rate limit buckets", before - buckets.size());
+        }
+    }
+
+    /**
+     * Up to {@code capacity} requests at once, refilled at {@code perMinute}.
+     */
+    record Limit(long intervalNanos, long burstNanos) {
+        Limit(int capacity, int perMinute) {
+            this(TimeUnit.MINUTES.toNanos(1) / perMinute, TimeUnit.MINUTES.toNanos(1) / perMinute * capacity);
+        }
+    }
+
+    private static final class Bucket {
+
+        // When the bucket will next be full; tokens left = (now + burst - tat) / interval
+        private final AtomicLong tat;
+
+        Bucket(long now) {
+            this.tat = new AtomicLong(now);
+        }
+
+        /**
+         * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+         */
+        long tryAcquire(long now, Limit limit) {
+            while (true) {
+                long current = tat.get();
+                long next = Math.max(current - now, 0) + now + limit.intervalNanos();
+                long excess = next - now - limit.burstNanos();
+                if (excess > 0) {
+                    return excess;
+                }
+                if (tat.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            return tat.get() - now <= 0;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.schedulr.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Authenticated user as resolved from a JWT, without touching the database.
+ * {@link #getName()} returns the email so that {@code Authentication.getName()}
+ * keeps its meaning.
+ */
+public record UserPrincipal(Long id, String email, String role) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
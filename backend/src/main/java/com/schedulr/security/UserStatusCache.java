@@ -0,0 +1,78 @@
+package com.schedulr.security;
+
+import com.schedulr.entity.User;
+import com.schedulr.event.AccountChangedEvent;
+import com.schedulr.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of each user's id, role and active flag, keyed by email.
+ * Lets the JWT filter reject deactivated accounts without a query per request;
+ * a deactivation takes effect immediately on the node that made it and within
+ * the TTL everywhere else. The entry is dropped only once the change has
+ * committed; dropped any earlier, a concurrent request could cache the old flag
+ * again for a full TTL.
+ */
+@Component
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public UserStatusCache(UserRepository userRepository,
+            @Value("${app.jwt.user-status-ttl-ms:30000}") long ttlMs,
+            @Value("${app.jwt.user-status-max-entries:100000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return the user's current status, or null if no such user exists
+     */
+    public UserStatus get(String email) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(email);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.status();
+        }
+        UserStatus status = userRepository.findByEmail(email)
+                .map(UserStatus::of)
+                .orElse(null);
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(e -> e.expiresAt() <= now);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(email, new Entry(status, now + ttlMs));
+        return status;
+    }
+
+    public void evict(String email) {
+        entries.remove(email);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (event.email() != null) {
+            evict(event.email());
+        }
+    }
+
+    public record UserStatus(Long id, String role, boolean active) {
+        static UserStatus of(User user) {
+            return new UserStatus(user.getId(), user.getRole(), Boolean.TRUE.equals(user.getActive()));
+        }
+    }
+
+    private record Entry(UserStatus status, long expiresAt) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.schedulr.service;
+
+import com.schedulr.dto.CursorPage;
+import com.schedulr.dto.user.UserDto;
+import com.schedulr.entity.Payment;
+import com.schedulr.entity.Subscription;
+import com.schedulr.exception.BadRequestException;
+import com.schedulr.repository.PaymentRepository;
+import com.schedulr.repository.SubscriptionRepository;
+import com.schedulr.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Paginated admin listings. Every list is ordered newest first and paged by id,
+ * so a page costs the same no matter how far into the table it is.
+ */
+@Service
+@RequiredArgsConstructor
+public class AdminService {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final UserRepository userRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final PaymentRepository paymentRepository;
+    private final UserService userService;
+
+    /**
+     * @param search case-insensitive prefix of the email or username
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> getUsers(Long cursor, Integer limit, String role, Boolean active, String search) {
+        int pageSize = pageSize(limit);
+        String prefix = search == null || search.isBlank() ? null : escapeLike(search.trim().toLowerCase()) + "%";
+        List<UserDto> users = userRepository.findAdminPage(start(cursor), upper(role), active, prefix,
+                Limit.of(pageSize + 1)).stream().map(userService::toDto).toList();
+        return toPage(users, pageSize, UserDto::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Subscription> getSubscriptions(Long cursor, Integer limit, String plan, String status) {
+        int pageSize = pageSize(limit);
+        return toPage(subscriptionRepository.findAdminPage(start(cursor), upper(plan), upper(status),
+                Limit.of(pageSize + 1)), pageSize, Subscription::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Payment> getPayments(Long cursor, Integer limit, String status, Long userId) {
+        int pageSize = pageSize(limit);
+        return toPage(paymentRepository.findAdminPage(start(cursor), upper(status), userId,
+                Limit.of(pageSize + 1)), pageSize, Payment::getId);
+    }
+
+    private static <T> CursorPage<T> toPage(List<T> rows, int pageSize, Function<T, Long> id) {
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = String.valueOf(id.apply(rows.get(pageSize - 1)));
+        }
+        return CursorPage.<T>builder().items(rows).nextCursor(nextCursor).build();
+    }
+
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("limit must be at least 1");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private static Long start(Long cursor) {
+        return cursor != null ? cursor : Long.MAX_VALUE;
+    }
+
+    private static String upper(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toUpperCase();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
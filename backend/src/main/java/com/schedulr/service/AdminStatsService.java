@@ -0,0 +1,130 @@
+package com.schedulr.service;
+
+import com.schedulr.dto.admin.AdminStatsDto;
+import com.schedulr.event.AccountChangedEvent;
+import com.schedulr.event.ScheduleChangedEvent;
+import com.schedulr.repository.BookingRepository;
+import com.schedulr.repository.PaymentRepository;
+import com.schedulr.repository.SubscriptionRepository;
+import com.schedulr.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Platform counters for the admin dashboard.
+ * Counters are loaded with a few aggregate queries at startup, kept up to date
+ * from committed account and booking events, and periodically recounted from
+ * the database to correct drift (changes made on other nodes, or an event that
+ * raced a recount).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AdminStatsService {
+
+    private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final PaymentRepository paymentRepository;
+
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong activeUsers = new AtomicLong();
+    private final AtomicLong totalPayments = new AtomicLong();
+    private final Map<String, AtomicLong> bookingsByStatus = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> subscriptionsByPlan = new ConcurrentHashMap<>();
+    private volatile LocalDateTime reconciledAt;
+
+    public AdminStatsDto getStats() {
+        Map<String, Long> plans = snapshot(subscriptionsByPlan);
+        return AdminStatsDto.builder()
+                .totalUsers(totalUsers.get())
+                .activeUsers(activeUsers.get())
+                .totalSubscriptions(plans.values().stream().mapToLong(Long::longValue).sum())
+                .totalPayments(totalPayments.get())
+                .bookingsByStatus(snapshot(bookingsByStatus))
+                .subscriptionsByPlan(plans)
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.admin.stats.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.admin.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            long started = System.currentTimeMillis();
+            totalUsers.set(userRepository.count());
+            activeUsers.set(userRepository.countByActiveTrue());
+            totalPayments.set(paymentRepository.count());
+            replace(bookingsByStatus, bookingRepository.countGroupedByStatus());
+            replace(subscriptionsByPlan, subscriptionRepository.countGroupedByPlan());
+            reconciledAt = LocalDateTime.now();
+            log.debug("Admin stats reconciled in {} ms", System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Failed to reconcile admin stats: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        switch (event.kind()) {
+            case USER_CREATED -> {
+                totalUsers.incrementAndGet();
+                activeUsers.incrementAndGet();
+            }
+            case USER_ACTIVATED -> activeUsers.incrementAndGet();
+            case USER_DEACTIVATED -> activeUsers.decrementAndGet();
+            case PLAN_CHANGED -> {
+                if (event.previousPlan() != null) {
+                    add(subscriptionsByPlan, event.previousPlan(), -1);
+                }
+                add(subscriptionsByPlan, event.plan(), 1);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        switch (event.kind()) {
+            case BOOKING_CREATED -> add(bookingsByStatus, "BOOKED", 1);
+            case BOOKING_CANCELLED -> {
+                add(bookingsByStatus, "BOOKED", -1);
+                add(bookingsByStatus, "CANCELLED", 1);
+            }
+            default -> {
+                // Not a booking count change
+            }
+        }
+    }
+
+    private static void add(Map<String, AtomicLong> counters, String key, long delta) {
+        counters.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+    }
+
+    private static void replace(Map<String, AtomicLong> counters, List<Object[]> rows) {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Object[] row : rows) {
+            counts.put(String.valueOf(row[0]), (Long) row[1]);
+        }
+        counters.keySet().retainAll(counts.keySet());
+        counts.forEach((key, count) -> counters.computeIfAbsent(key, k -> new AtomicLong()).set(count));
+    }
+
+    private static Map<String, Long> snapshot(Map<String, AtomicLong> counters) {
+        Map<String, Long> copy = new TreeMap<>();
+        counters.forEach((key, count) -> copy.put(key, count.get()));
+        return copy;
+    }
+}
@@ -5,15 +5,17 @@ import com.schedulr.dto.auth.LoginRequest;
 import com.schedulr.dto.auth.RegisterRequest;
 import com.schedulr.entity.Subscription;
 import com.schedulr.entity.User;
+import com.schedulr.event.AccountChangedEvent;
 import com.schedulr.exception.ConflictException;
 import com.schedulr.repository.SubscriptionRepository;
 import com.schedulr.repository.UserRepository;
 import com.schedulr.security.JwtTokenProvider;
+import com.schedulr.security.RateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +32,8 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RateLimiter rateLimiter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -61,18 +65,22 @@ public class AuthService {
                 .startDate(LocalDateTime.now())
                 .build();
         subscriptionRepository.save(subscription);
+        eventPublisher.publishEvent(AccountChangedEvent.userCreated());
+        eventPublisher.publishEvent(AccountChangedEvent.planChanged(null, subscription.getPlan()));
 
-        String token = jwtTokenProvider.generateTokenFromUsername(user.getEmail());
+        String token = jwtTokenProvider.generateToken(user);
         return buildAuthResponse(user, token);
     }
 
     public AuthResponse login(LoginRequest request) {
         log.info("LOGIN ATTEMPT: email={}", request.getEmail());
+        // Per account as well as per IP, against credential stuffing spread across many addresses
+        rateLimiter.check(RateLimiter.AUTH_ACCOUNT, request.getEmail().toLowerCase());
         try {
-            Authentication authentication = authenticationManager.authenticate(
+            authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
-            String token = jwtTokenProvider.generateToken(authentication);
             User user = userRepository.findByEmail(request.getEmail()).orElseThrow();
+            String token = jwtTokenProvider.generateToken(user);
             log.info("LOGIN SUCCESS: email={}, role={}", user.getEmail(), user.getRole());
             return buildAuthResponse(user, token);
         } catch (Exception e) {
@@ -4,9 +4,11 @@ import com.schedulr.dto.availability.AvailabilityDto;
 import com.schedulr.dto.availability.AvailabilityRequest;
 import com.schedulr.entity.AvailabilityRule;
 import com.schedulr.entity.User;
+import com.schedulr.event.ScheduleChangedEvent;
 import com.schedulr.repository.AvailabilityRuleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,10 +22,11 @@ public class AvailabilityService {
 
     private final AvailabilityRuleRepository availabilityRuleRepository;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<AvailabilityDto> getMyAvailability() {
-        User user = userService.getCurrentUser();
-        return availabilityRuleRepository.findByUserId(user.getId())
+        Long userId = userService.getCurrentUserId();
+        return availabilityRuleRepository.findByUserId(userId)
                 .stream().map(this::toDto).collect(Collectors.toList());
     }
 
@@ -47,6 +50,7 @@ public class AvailabilityService {
 
         List<AvailabilityRule> saved = availabilityRuleRepository.saveAll(rules);
         log.info("Availability saved for user: {}", user.getEmail());
+        eventPublisher.publishEvent(ScheduleChangedEvent.availabilityChanged(user.getId()));
         return saved.stream().map(this::toDto).collect(Collectors.toList());
     }
 
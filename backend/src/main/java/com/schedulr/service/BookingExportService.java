@@ -0,0 +1,271 @@
+package com.schedulr.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schedulr.exception.BadRequestException;
+import com.schedulr.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams a host's full booking history as CSV or NDJSON.
+ * Rows are read through a forward-only cursor (the Postgres driver only honours
+ * the fetch size inside a transaction) and written to the output as they
+ * arrive, so memory use does not grow with the number of bookings.
+ * <p>
+ * Each running export holds a pool connection for its whole download, so only a
+ * few may run at once; callers {@link #reserve()} a slot before streaming.
+ */
+@Service
+@Slf4j
+public class BookingExportService {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final String EXPORT_SQL = "SELECT b.id, b.event_type_id, e.name AS event_type_name, " +
+            "e.duration_minutes, b.guest_name, b.guest_email, b.start_time, b.end_time, b.status, b.notes, " +
+            "b.meeting_link, b.cancellation_reason, b.created_at " +
+            "FROM bookings b JOIN event_types e ON e.id = b.event_type_id " +
+            "WHERE b.host_id = ? ORDER BY b.start_time, b.id";
+
+    private static final String[] COLUMNS = { "id", "event_type_id", "event_type_name", "duration_minutes",
+            "guest_name", "guest_email", "start_time", "end_time", "status", "notes", "meeting_link",
+            "cancellation_reason", "created_at" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final Semaphore running;
+
+    public BookingExportService(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${app.bookings.export.fetch-size:1000}") int fetchSize,
+            @Value("${app.bookings.export.max-concurrent:3}") int maxConcurrent) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.running = new Semaphore(maxConcurrent);
+    }
+
+    public static String normalizeFormat(String format) {
+        String normalized = format == null ? FORMAT_CSV : format.toLowerCase();
+        if (!FORMAT_CSV.equals(normalized) && !FORMAT_NDJSON.equals(normalized)) {
+            throw new BadRequestException("Unsupported export format: " + format + " (use csv or ndjson)");
+        }
+        return normalized;
+    }
+
+    /**
+     * Reserve one of the concurrent export slots. Call on the request thread, before
+     * the response is committed, and close the permit once the export has finished.
+     *
+     * @throws ServiceUnavailableException if the maximum number of exports is already running
+     */
+    public Permit reserve() {
+        if (!running.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many exports are running. Please try again shortly.", 5);
+        }
+        return new Permit();
+    }
+
+    /**
+     * Write every booking of the host to {@code out}. The stream is flushed but not closed.
+     */
+    public void export(Long hostId, String format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        RowWriter rowWriter = FORMAT_NDJSON.equals(format) ? new NdjsonRowWriter(writer) : new CsvRowWriter(writer);
+        long started = System.currentTimeMillis();
+        long[] rows = new long[1];
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setLong(1, hostId);
+                return ps;
+            }, rs -> {
+                try {
+                    rowWriter.write(rs);
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            rowWriter.finish();
+        } catch (UncheckedIOException e) {
+            // Typically the client went away mid-download
+            throw e.getCause();
+        }
+        log.info("Exported {} bookings for host {} as {} in {} ms", rows[0], hostId, format,
+                System.currentTimeMillis() - started);
+    }
+
+    private static String timestamp(ResultSet rs, String column) throws SQLException {
+        LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+        return value != null ? value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null;
+    }
+
+    /**
+     * A reserved export slot. Closing it more than once releases it once.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                running.release();
+            }
+        }
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong("id")));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("event_type_id")));
+            writer.write(',');
+            field(rs.getString("event_type_name"));
+            writer.write(',');
+            writer.write(Integer.toString(rs.getInt("duration_minutes")));
+            writer.write(',');
+            field(rs.getString("guest_name"));
+            writer.write(',');
+            field(rs.getString("guest_email"));
+            writer.write(',');
+            field(timestamp(rs, "start_time"));
+            writer.write(',');
+            field(timestamp(rs, "end_time"));
+            writer.write(',');
+            field(rs.getString("status"));
+            writer.write(',');
+            field(rs.getString("notes"));
+            writer.write(',');
+            field(rs.getString("meeting_link"));
+            writer.write(',');
+            field(rs.getString("cancellation_reason"));
+            writer.write(',');
+            field(timestamp(rs, "created_at"));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        /**
+         * RFC 4180 quoting: only fields with a comma, quote or line break are quoted.
+         * Guest-supplied text starting with a formula character gets a leading quote
+         * so that spreadsheets show it as text instead of evaluating it.
+         */
+        private void field(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (!value.isEmpty() && isFormulaStart(value.charAt(0))) {
+                value = "'" + value;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        private static boolean isFormulaStart(char c) {
+            return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private boolean empty = true;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeNumberField("eventTypeId", rs.getLong("event_type_id"));
+            generator.writeStringField("eventTypeName", rs.getString("event_type_name"));
+            generator.writeNumberField("durationMinutes", rs.getInt("duration_minutes"));
+            generator.writeStringField("guestName", rs.getString("guest_name"));
+            generator.writeStringField("guestEmail", rs.getString("guest_email"));
+            generator.writeStringField("startTime", timestamp(rs, "start_time"));
+            generator.writeStringField("endTime", timestamp(rs, "end_time"));
+            generator.writeStringField("status", rs.getString("status"));
+            generator.writeStringField("notes", rs.getString("notes"));
+            generator.writeStringField("meetingLink", rs.getString("meeting_link"));
+            generator.writeStringField("cancellationReason", rs.getString("cancellation_reason"));
+            generator.writeStringField("createdAt", timestamp(rs, "created_at"));
+            generator.writeEndObject();
+            empty = false;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!empty) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+}
@@ -1,55 +1,172 @@
 package com.schedulr.service;
 
+import com.schedulr.cache.HostDirectory;
+import com.schedulr.cache.SlotResultCache;
+import com.schedulr.dto.CursorPage;
 import com.schedulr.dto.booking.BookingDto;
 import com.schedulr.dto.booking.BookingRequest;
 import com.schedulr.dto.booking.TimeSlotDto;
 import com.schedulr.entity.Booking;
 import com.schedulr.entity.EventType;
 import com.schedulr.entity.User;
+import com.schedulr.event.RoundRobinEvent;
+import com.schedulr.event.ScheduleChangedEvent;
 import com.schedulr.exception.BadRequestException;
 import com.schedulr.exception.ConflictException;
 import com.schedulr.exception.ResourceNotFoundException;
 import com.schedulr.repository.BookingRepository;
 import com.schedulr.repository.EventTypeRepository;
+import com.schedulr.repository.TeamMemberRepository;
 import com.schedulr.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BookingService {
 
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_NEXT_SLOTS = 3;
+    private static final int MAX_NEXT_SLOTS = 20;
+    private static final int NEXT_SLOTS_HORIZON_DAYS = 60;
+
     private final BookingRepository bookingRepository;
     private final EventTypeRepository eventTypeRepository;
     private final UserRepository userRepository;
+    private final HostDirectory hostDirectory;
+    private final TeamMemberRepository teamMemberRepository;
     private final SlotGenerationService slotGenerationService;
+    private final SlotHoldService slotHoldService;
+    private final SlotResultCache slotResultCache;
+    private final RoundRobinBalancer roundRobinBalancer;
     private final EmailService emailService;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
     /**
-     * Get available slots for a public booking page.
+     * Get available slots for a public booking page. {@code date} and the returned
+     * slot times are in the guest's zone, which defaults to the host's.
      */
-    public List<TimeSlotDto> getAvailableSlots(String username, Long eventTypeId, LocalDate date) {
-        User host = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
+    public List<TimeSlotDto> getAvailableSlots(String username, Long eventTypeId, LocalDate date, String timezone) {
+        // Identical concurrent queries share one computation, e.g. when a booking link goes viral
+        return slotResultCache.get(new SlotResultCache.Key(username, eventTypeId, date, timezone), () -> {
+            SlotQuery query = resolveSlotQuery(username, eventTypeId, timezone);
+            List<TimeSlotDto> slots = new ArrayList<>();
+            LocalDate endDate = date.plusDays(6); // Show 7 days
+            forEachAvailableSlot(query, date, endDate, slots::add);
+            return new SlotResultCache.Result(List.copyOf(slots), query.hostIds());
+        });
+    }
+
+    /**
+     * The first {@code count} available slots from today on, in the guest's zone.
+     * The search starts with today alone and doubles the range each round, stopping
+     * as soon as enough slots are found or {@value #NEXT_SLOTS_HORIZON_DAYS} days
+     * have been searched, so an open calendar costs a single day's generation.
+     */
+    public List<TimeSlotDto> getNextAvailableSlots(String username, Long eventTypeId, Integer count,
+            String timezone) {
+        int wanted = count == null ? DEFAULT_NEXT_SLOTS : count;
+        if (wanted < 1) {
+            throw new BadRequestException("count must be at least 1");
+        }
+        int limit = Math.min(wanted, MAX_NEXT_SLOTS);
+        SlotQuery query = resolveSlotQuery(username, eventTypeId, timezone);
+
+        List<TimeSlotDto> slots = new ArrayList<>(limit);
+        LocalDate from = LocalDate.now(query.guestZone());
+        LocalDate horizon = from.plusDays(NEXT_SLOTS_HORIZON_DAYS - 1);
+        for (int days = 1; slots.size() < limit && !from.isAfter(horizon); days *= 2) {
+            LocalDate to = from.plusDays(days - 1);
+            if (to.isAfter(horizon)) {
+                to = horizon;
+            }
+            forEachAvailableSlot(query, from, to, slot -> {
+                slots.add(slot);
+                return slots.size() < limit;
+            });
+            from = to.plusDays(1);
+        }
+        return slots;
+    }
+
+    /**
+     * Resolve the event type, zones and team members behind a public slot query.
+     * The result holds no lazy state, so slots can be generated from it off the
+     * request thread.
+     */
+    public SlotQuery resolveSlotQuery(String username, Long eventTypeId, String timezone) {
+        HostDirectory.Host host = hostDirectory.require(username);
         EventType eventType = eventTypeRepository.findById(eventTypeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event type not found: " + eventTypeId));
 
-        if (!eventType.getUser().getId().equals(host.getId())) {
+        if (!eventType.getUser().getId().equals(host.id())) {
             throw new ResourceNotFoundException("Event type not found for this user");
         }
 
-        LocalDate endDate = date.plusDays(6); // Show 7 days
-        return slotGenerationService.generateSlots(eventType, date, endDate)
-                .stream().filter(TimeSlotDto::isAvailable).collect(Collectors.toList());
+        ZoneId hostZone = TimeZones.hostZone(host.timezone());
+        ZoneId guestZone = TimeZones.parse(timezone, hostZone);
+        List<User> members = eventType.getTeam() != null
+                ? teamMemberRepository.findActiveUsersByTeamId(eventType.getTeam().getId())
+                : null;
+        return new SlotQuery(eventType, hostZone, guestZone, members);
+    }
+
+    /**
+     * Hand every available slot starting on [from, to] in the guest's zone to
+     * {@code sink}, in start order, until {@code sink} returns false. Rules and
+     * bookings are loaded once for the range.
+     */
+    public void forEachAvailableSlot(SlotQuery query, LocalDate from, LocalDate to, Predicate<TimeSlotDto> sink) {
+        if (query.members() != null) {
+            slotGenerationService.generateTeamSlots(query.eventType(), query.members(), query.guestZone(),
+                    from, to, sink);
+            return;
+        }
+        slotGenerationService.generateSlots(query.eventType(), query.hostZone(), query.guestZone(), from, to,
+                slot -> !slot.isAvailable() || sink.test(slot));
+    }
+
+    /**
+     * A resolved public slot query; {@code members} is null for individual event types.
+     */
+    public record SlotQuery(EventType eventType, ZoneId hostZone, ZoneId guestZone, List<User> members) {
+
+        /** The hosts whose schedules the query's slots depend on. */
+        public Set<Long> hostIds() {
+            Set<Long> ids = new HashSet<>();
+            ids.add(eventType.getUser().getId());
+            if (members != null) {
+                members.forEach(member -> ids.add(member.getId()));
+            }
+            return ids;
+        }
     }
 
     /**
@@ -57,7 +174,29 @@ public class BookingService {
      */
     @Transactional
     public BookingDto createBooking(String username, BookingRequest request) {
-        User host = userRepository.findByUsername(username)
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            BookingDto booking = doCreateBooking(username, request);
+            outcome = "created";
+            return booking;
+        } catch (ConflictException e) {
+            outcome = "conflict";
+            throw e;
+        } catch (BadRequestException | ResourceNotFoundException e) {
+            outcome = "validation";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("bookings.create")
+                    .description("Time to create a booking, by outcome")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private BookingDto doCreateBooking(String username, BookingRequest request) {
+        User host = userRepository.findById(hostDirectory.require(username).id())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
         EventType eventType = eventTypeRepository.findById(request.getEventTypeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Event type not found"));
@@ -70,17 +209,22 @@ public class BookingService {
             throw new BadRequestException("This event type is not currently available");
         }
 
-        LocalDateTime startTime = request.getStartTime();
+        ZoneId guestZone = TimeZones.parse(request.getTimezone(), TimeZones.hostZone(host));
+        LocalDateTime startTime = TimeZones.toUtc(request.getStartTime(), guestZone);
         LocalDateTime endTime = startTime.plusMinutes(eventType.getDurationMinutes());
 
-        if (startTime.isBefore(LocalDateTime.now())) {
+        if (startTime.isBefore(LocalDateTime.now(ZoneOffset.UTC))) {
             throw new BadRequestException("Cannot book a slot in the past");
         }
 
-        // Double-booking prevention at service level
-        if (!slotGenerationService.isSlotAvailable(host.getId(), startTime, endTime)) {
-            throw new ConflictException("This time slot is no longer available. Please choose another.");
+        if ("COLLECTIVE".equals(eventType.getSchedulingType())) {
+            return createCollectiveBooking(host, eventType, request, guestZone, startTime, endTime);
         }
+        if ("ROUND_ROBIN".equals(eventType.getSchedulingType())) {
+            return createRoundRobinBooking(host, eventType, request, guestZone, startTime, endTime);
+        }
+
+        slotHoldService.consumeHold(host.getId(), eventType, request.getHoldToken(), startTime);
 
         String meetingLink = generateMeetingLink(eventType);
 
@@ -89,6 +233,7 @@ public class BookingService {
                 .eventType(eventType)
                 .guestName(request.getGuestName())
                 .guestEmail(request.getGuestEmail())
+                .guestTimezone(guestZone.getId())
                 .startTime(startTime)
                 .endTime(endTime)
                 .status("BOOKED")
@@ -96,8 +241,17 @@ public class BookingService {
                 .meetingLink(meetingLink)
                 .build();
 
-        booking = bookingRepository.save(booking);
+        // Double-booking prevention is enforced by the bookings_no_overlap exclusion constraint
+        try {
+            booking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new ConflictException("This time slot is no longer available. Please choose another.");
+            }
+            throw e;
+        }
         log.info("Booking created: {} for host: {}", booking.getId(), host.getEmail());
+        eventPublisher.publishEvent(ScheduleChangedEvent.bookingCreated(host.getId(), startTime, endTime));
 
         // Send confirmation emails asynchronously
         emailService.sendBookingConfirmationToGuest(booking);
@@ -107,34 +261,169 @@ public class BookingService {
     }
 
     /**
-     * Get all bookings for the current authenticated user.
+     * Book every member of a collective event type: one booking per member, sharing
+     * the meeting link and a meeting id, so each member's calendar and the per-host
+     * overlap constraint both see it. If any member has been booked meanwhile, the
+     * whole booking fails.
+     */
+    private BookingDto createCollectiveBooking(User owner, EventType eventType, BookingRequest request,
+            ZoneId guestZone, LocalDateTime startTime, LocalDateTime endTime) {
+        List<User> members = teamMembers(eventType);
+        if (slotGenerationService.availableMembers(eventType, members, startTime, request.getHoldToken()).size()
+                < members.size()) {
+            throw new ConflictException("This time slot is no longer available. Please choose another.");
+        }
+        slotHoldService.consumeHold(owner.getId(), eventType, request.getHoldToken(), startTime);
+
+        String meetingLink = generateMeetingLink(eventType);
+        String meetingId = UUID.randomUUID().toString();
+        List<Booking> bookings = new ArrayList<>(members.size());
+        for (User member : members) {
+            bookings.add(Booking.builder()
+                    .host(member)
+                    .eventType(eventType)
+                    .guestName(request.getGuestName())
+                    .guestEmail(request.getGuestEmail())
+                    .guestTimezone(guestZone.getId())
+                    .startTime(startTime)
+                    .endTime(endTime)
+                    .status("BOOKED")
+                    .notes(request.getNotes())
+                    .meetingLink(meetingLink)
+                    .meetingId(meetingId)
+                    .build());
+        }
+        try {
+            bookings = bookingRepository.saveAllAndFlush(bookings);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new ConflictException("This time slot is no longer available. Please choose another.");
+            }
+            throw e;
+        }
+        log.info("Collective booking created for event type {} with {} members", eventType.getId(), members.size());
+
+        Booking primary = bookings.stream()
+                .filter(b -> b.getHost().getId().equals(owner.getId()))
+                .findFirst()
+                .orElse(bookings.get(0));
+        for (Booking booking : bookings) {
+            eventPublisher.publishEvent(ScheduleChangedEvent.bookingCreated(
+                    booking.getHost().getId(), startTime, endTime));
+            emailService.sendBookingConfirmationToHost(booking);
+        }
+        emailService.sendBookingConfirmationToGuest(primary);
+        return toDto(primary);
+    }
+
+    /**
+     * Book a round-robin event type with the least-loaded member who is free for the
+     * slot. The overlap constraint still guards the chosen member against a booking
+     * that another node made in the meantime.
+     */
+    private BookingDto createRoundRobinBooking(User owner, EventType eventType, BookingRequest request,
+            ZoneId guestZone, LocalDateTime startTime, LocalDateTime endTime) {
+        List<User> available = slotGenerationService.availableMembers(eventType, teamMembers(eventType),
+                startTime, request.getHoldToken());
+        if (available.isEmpty()) {
+            throw new ConflictException("This time slot is no longer available. Please choose another.");
+        }
+        slotHoldService.consumeHold(owner.getId(), eventType, request.getHoldToken(), startTime);
+        User assignee = roundRobinBalancer.assign(eventType.getId(), available);
+
+        Booking booking = Booking.builder()
+                .host(assignee)
+                .eventType(eventType)
+                .guestName(request.getGuestName())
+                .guestEmail(request.getGuestEmail())
+                .guestTimezone(guestZone.getId())
+                .startTime(startTime)
+                .endTime(endTime)
+                .status("BOOKED")
+                .notes(request.getNotes())
+                .meetingLink(generateMeetingLink(eventType))
+                .build();
+        try {
+            booking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new ConflictException("This time slot is no longer available. Please choose another.");
+            }
+            throw e;
+        }
+        log.info("Round-robin booking {} for event type {} assigned to host {}", booking.getId(),
+                eventType.getId(), assignee.getId());
+        eventPublisher.publishEvent(ScheduleChangedEvent.bookingCreated(assignee.getId(), startTime, endTime));
+
+        emailService.sendBookingConfirmationToGuest(booking);
+        emailService.sendBookingConfirmationToHost(booking);
+        return toDto(booking);
+    }
+
+    private List<User> teamMembers(EventType eventType) {
+        List<User> members = teamMemberRepository.findActiveUsersByTeamId(eventType.getTeam().getId());
+        if (members.isEmpty()) {
+            throw new BadRequestException("This event type is not currently available");
+        }
+        return members;
+    }
+
+    /**
+     * Get the current user's bookings, newest first, one page at a time.
      */
-    public List<BookingDto> getMyBookings() {
-        User user = userService.getCurrentUser();
-        return bookingRepository.findByHostIdOrderByStartTimeDesc(user.getId())
-                .stream().map(this::toDto).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> getMyBookings(String cursor, Integer limit) {
+        Long userId = userService.getCurrentUserId();
+        int pageSize = pageSize(limit);
+        Cursor after = decodeCursor(cursor);
+        List<BookingDto> rows = after == null
+                ? bookingRepository.findFirstPageByHostId(userId, Limit.of(pageSize + 1))
+                : bookingRepository.findPageByHostId(userId, after.startTime(), after.id(), Limit.of(pageSize + 1));
+        return toPage(rows, pageSize);
     }
 
-    public List<BookingDto> getUpcomingBookings() {
-        User user = userService.getCurrentUser();
+    /**
+     * Bookings in the next 30 days, soonest first.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> getUpcomingBookings(String cursor, Integer limit) {
+        Long userId = userService.getCurrentUserId();
+        int pageSize = pageSize(limit);
         LocalDateTime now = LocalDateTime.now();
-        return bookingRepository.findUpcomingByHostId(user.getId(), now, now.plusDays(30))
-                .stream().map(this::toDto).collect(Collectors.toList());
+        Cursor after = decodeCursor(cursor);
+        if (after == null) {
+            after = new Cursor(now, Long.MIN_VALUE);
+        }
+        return toPage(bookingRepository.findUpcomingPageByHostId(userId, after.startTime(), after.id(),
+                now.plusDays(30), Limit.of(pageSize + 1)), pageSize);
     }
 
-    public List<BookingDto> getPastBookings() {
-        User user = userService.getCurrentUser();
-        return bookingRepository.findPastByHostId(user.getId(), LocalDateTime.now())
-                .stream().map(this::toDto).collect(Collectors.toList());
+    /**
+     * Bookings that have already started, most recent first.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> getPastBookings(String cursor, Integer limit) {
+        Long userId = userService.getCurrentUserId();
+        int pageSize = pageSize(limit);
+        Cursor after = decodeCursor(cursor);
+        if (after == null) {
+            after = new Cursor(LocalDateTime.now(), Long.MIN_VALUE);
+        }
+        return toPage(bookingRepository.findPastPageByHostId(userId, after.startTime(), after.id(),
+                Limit.of(pageSize + 1)), pageSize);
     }
 
+    /**
+     * Cancel one of the current user's bookings. A collective booking is one meeting
+     * stored as a row per member, so every member's row is cancelled with it.
+     */
     @Transactional
     public BookingDto cancelBooking(Long bookingId, String reason) {
-        User user = userService.getCurrentUser();
+        Long userId = userService.getCurrentUserId();
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found: " + bookingId));
 
-        if (!booking.getHost().getId().equals(user.getId())) {
+        if (!booking.getHost().getId().equals(userId)) {
             throw new BadRequestException("You can only cancel your own bookings");
         }
 
@@ -142,15 +431,54 @@ public class BookingService {
             throw new BadRequestException("Booking is already cancelled");
         }
 
+        if (booking.getMeetingId() != null) {
+            return cancelMeeting(booking, reason);
+        }
+
         booking.setStatus("CANCELLED");
         booking.setCancellationReason(reason);
         booking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(ScheduleChangedEvent.bookingCancelled(
+                userId, booking.getStartTime(), booking.getEndTime()));
+        if ("ROUND_ROBIN".equals(booking.getEventType().getSchedulingType())) {
+            eventPublisher.publishEvent(RoundRobinEvent.released(booking.getEventType().getId(), userId));
+        }
 
         emailService.sendCancellationEmail(booking);
         log.info("Booking cancelled: {}", bookingId);
         return toDto(booking);
     }
 
+    /**
+     * Cancel every member's row of a collective booking. The guest is notified once,
+     * each member separately.
+     */
+    private BookingDto cancelMeeting(Booking booking, String reason) {
+        List<Booking> rows = new ArrayList<>(bookingRepository.findBookedByMeetingId(booking.getMeetingId()));
+        if (rows.stream().noneMatch(row -> row.getId().equals(booking.getId()))) {
+            rows.add(booking);
+        }
+        for (Booking row : rows) {
+            row.setStatus("CANCELLED");
+            row.setCancellationReason(reason);
+        }
+        bookingRepository.saveAll(rows);
+        for (Booking row : rows) {
+            eventPublisher.publishEvent(ScheduleChangedEvent.bookingCancelled(
+                    row.getHost().getId(), row.getStartTime(), row.getEndTime()));
+            emailService.sendCancellationToHost(row);
+        }
+        emailService.sendCancellationToGuest(booking);
+        log.info("Collective booking cancelled: meeting {} with {} members", booking.getMeetingId(), rows.size());
+        return toDto(booking);
+    }
+
+    private boolean isOverlapViolation(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause() instanceof SQLException sqlException
+                && (EXCLUSION_VIOLATION.equals(sqlException.getSQLState())
+                        || UNIQUE_VIOLATION.equals(sqlException.getSQLState()));
+    }
+
     private String generateMeetingLink(EventType eventType) {
         return switch (eventType.getLocationType()) {
             case "ZOOM" -> "https://zoom.us/j/" + System.currentTimeMillis();
@@ -172,6 +500,55 @@ public class BookingService {
         return sb.toString();
     }
 
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("limit must be at least 1");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Rows are fetched with one extra element to learn whether another page follows.
+     */
+    private CursorPage<BookingDto> toPage(List<BookingDto> rows, int pageSize) {
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            BookingDto last = rows.get(pageSize - 1);
+            nextCursor = encodeCursor(new Cursor(last.getStartTime(), last.getId()));
+        }
+        return CursorPage.<BookingDto>builder()
+                .items(rows)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static String encodeCursor(Cursor cursor) {
+        String raw = cursor.startTime() + "|" + cursor.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /** Position of the last booking on a page: (start_time, id). */
+    private record Cursor(LocalDateTime startTime, Long id) {
+    }
+
     public BookingDto toDto(Booking b) {
         return BookingDto.builder()
                 .id(b.getId())
@@ -24,13 +24,11 @@ public class CalendarIntegrationService {
     private final UserService userService;
 
     public List<Integration> getMyIntegrations() {
-        User user = userService.getCurrentUser();
-        return integrationRepository.findByUserId(user.getId());
+        return integrationRepository.findByUserId(userService.getCurrentUserId());
     }
 
     public Optional<Integration> getIntegration(String provider) {
-        User user = userService.getCurrentUser();
-        return integrationRepository.findByUserIdAndProvider(user.getId(), provider);
+        return integrationRepository.findByUserIdAndProvider(userService.getCurrentUserId(), provider);
     }
 
     /**
@@ -0,0 +1,194 @@
+package com.schedulr.service;
+
+import com.schedulr.entity.EmailLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind buffer for email_logs.
+ * Log rows are queued in memory and inserted with JDBC batch statements on the
+ * flusher thread, either once a full batch has accumulated or every flush
+ * interval, whichever comes first. The buffer is drained on shutdown.
+ * <p>
+ * {@link #write} never touches the database and never throws: it runs right after
+ * an email was sent, and a failure there would make the outbox send it again.
+ * A batch that fails for a transient reason is kept and retried by the next
+ * flush; one rejected for its data is retried row by row so that a single bad row
+ * only loses itself. Rows are dropped, and counted, only when the buffer is full.
+ */
+@Component
+@Slf4j
+public class EmailLogWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO email_logs " +
+            "(recipient_email, subject, body, email_type, status, error_message, booking_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<EmailLog> buffer;
+    private final int batchSize;
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Timer flushTimer;
+    private final Counter flushedRows;
+    private final Counter droppedRows;
+    // Drained but not yet written; retried before anything newer. Guarded by this.
+    private List<EmailLog> pending = List.of();
+
+    public EmailLogWriter(JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.email.log.batch-size:100}") int batchSize,
+            @Value("${app.email.log.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${app.email.log.flush-interval-ms:2000}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.buffer = new LinkedBlockingQueue<>(bufferCapacity);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "email-log-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("email.log.buffer.depth", buffer, BlockingQueue::size)
+                .description("Email log rows waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("email.log.flush")
+                .description("Time to write one batch of email log rows")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushedRows = Counter.builder("email.log.flushed")
+                .description("Email log rows written")
+                .register(meterRegistry);
+        this.droppedRows = Counter.builder("email.log.dropped")
+                .description("Email log rows lost because the buffer was full or the row was rejected")
+                .register(meterRegistry);
+    }
+
+    public void write(EmailLog emailLog) {
+        try {
+            if (emailLog.getCreatedAt() == null) {
+                emailLog.setCreatedAt(LocalDateTime.now());
+            }
+            if (!buffer.offer(emailLog)) {
+                droppedRows.increment();
+                log.warn("Email log buffer full, dropping log for {}", emailLog.getRecipientEmail());
+            }
+            if (buffer.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+                flusher.execute(() -> {
+                    flushScheduled.set(false);
+                    flushQuietly();
+                });
+            }
+        } catch (RuntimeException e) {
+            // Includes a rejected flush task after shutdown; the row stays buffered
+            log.error("Failed to buffer email log: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flush();
+        log.info("Email log buffer drained on shutdown");
+    }
+
+    /**
+     * Write everything currently buffered, one JDBC batch at a time, starting with
+     * the batch a previous flush failed to write.
+     *
+     * @throws DataAccessException if a batch could not be written; it is kept for the next flush
+     */
+    public synchronized void flush() {
+        while (true) {
+            if (pending.isEmpty()) {
+                List<EmailLog> batch = new ArrayList<>(batchSize);
+                if (buffer.drainTo(batch, batchSize) == 0) {
+                    return;
+                }
+                pending = batch;
+            }
+            try {
+                flushTimer.record(() -> insert(pending));
+                flushedRows.increment(pending.size());
+            } catch (DataAccessException e) {
+                if (!isRejectedData(e)) {
+                    throw e;
+                }
+                insertRowByRow(pending, e);
+            }
+            pending = List.of();
+        }
+    }
+
+    private void insert(List<EmailLog> rows) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.getRecipientEmail());
+            ps.setString(2, row.getSubject());
+            ps.setString(3, row.getBody());
+            ps.setString(4, row.getEmailType());
+            ps.setString(5, row.getStatus());
+            ps.setString(6, row.getErrorMessage());
+            ps.setObject(7, row.getBookingId());
+            ps.setTimestamp(8, Timestamp.valueOf(row.getCreatedAt()));
+        });
+    }
+
+    /**
+     * The batch was refused for its contents, e.g. a value too long for its column;
+     * write the rows one at a time and drop only those that are refused again.
+     */
+    private void insertRowByRow(List<EmailLog> rows, DataAccessException batchError) {
+        log.warn("Email log batch rejected, retrying row by row: {}", batchError.getMessage());
+        for (int i = 0; i < rows.size(); i++) {
+            EmailLog row = rows.get(i);
+            try {
+                insert(List.of(row));
+                flushedRows.increment();
+            } catch (DataAccessException e) {
+                if (!isRejectedData(e)) {
+                    // Keep only the rows not yet written for the next flush
+                    pending = new ArrayList<>(rows.subList(i, rows.size()));
+                    throw e;
+                }
+                droppedRows.increment();
+                log.error("Dropping email log for {}: {}", row.getRecipientEmail(), e.getMessage());
+            }
+        }
+    }
+
+    // Retrying cannot help, unlike a lost connection or a timeout
+    private static boolean isRejectedData(DataAccessException e) {
+        return e instanceof NonTransientDataAccessException && !(e instanceof DataAccessResourceFailureException);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to flush email logs: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.schedulr.service;
+
+import com.schedulr.entity.EmailOutbox;
+import com.schedulr.repository.EmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the email outbox.
+ * Each poll locks a batch of due messages (FOR UPDATE SKIP LOCKED, so several
+ * nodes can poll safely), leases them by pushing next_attempt_at forward, and
+ * hands them to a bounded worker pool. Failed messages are retried with
+ * exponential backoff and marked DEAD after the maximum number of attempts.
+ * A message whose node dies mid-send becomes due again once its lease expires, so
+ * the SMTP timeouts must stay well below the lease. SENT and DEAD messages are
+ * purged once past their retention period.
+ */
+@Component
+@Slf4j
+public class EmailOutboxWorker {
+
+    private static final long LEASE_SECONDS = 300;
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long baseBackoffSeconds;
+    private final int sentRetentionDays;
+    private final int deadRetentionDays;
+
+    public EmailOutboxWorker(EmailOutboxRepository emailOutboxRepository,
+            EmailService emailService,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.email.outbox.batch-size:50}") int batchSize,
+            @Value("${app.email.outbox.worker-threads:4}") int workerThreads,
+            @Value("${app.email.outbox.queue-capacity:200}") int queueCapacity,
+            @Value("${app.email.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${app.email.outbox.base-backoff-seconds:30}") long baseBackoffSeconds,
+            @Value("${app.email.outbox.sent-retention-days:7}") int sentRetentionDays,
+            @Value("${app.email.outbox.dead-retention-days:30}") int deadRetentionDays) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffSeconds = baseBackoffSeconds;
+        this.sentRetentionDays = sentRetentionDays;
+        this.deadRetentionDays = deadRetentionDays;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "email-outbox-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        int capacity = Math.min(batchSize, executor.getQueue().remainingCapacity());
+        if (capacity == 0) {
+            return;
+        }
+        List<EmailOutbox> batch = transactionTemplate.execute(status -> claimBatch(capacity));
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+        log.debug("Claimed {} outbox messages", batch.size());
+        for (EmailOutbox message : batch) {
+            try {
+                executor.execute(() -> deliver(message));
+            } catch (RejectedExecutionException e) {
+                // The lease expires and the message is picked up by a later poll
+                log.warn("Email worker pool saturated, deferring outbox message {}", message.getId());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.purge-interval-ms:3600000}",
+            initialDelayString = "${app.email.outbox.purge-interval-ms:3600000}")
+    public void purgeFinished() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime sentBefore = now.minusDays(sentRetentionDays);
+        LocalDateTime deadBefore = now.minusDays(deadRetentionDays);
+        int total = 0;
+        Integer purged;
+        do {
+            purged = transactionTemplate.execute(status ->
+                    emailOutboxRepository.deleteFinished(sentBefore, deadBefore, PURGE_BATCH_SIZE));
+            total += purged != null ? purged : 0;
+        } while (purged != null && purged == PURGE_BATCH_SIZE);
+        if (total > 0) {
+            log.info("Purged {} finished outbox messages", total);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private List<EmailOutbox> claimBatch(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = emailOutboxRepository.lockDueBatch(now, limit);
+        for (EmailOutbox message : batch) {
+            message.setStatus("SENDING");
+            message.setNextAttemptAt(now.plusSeconds(LEASE_SECONDS));
+        }
+        return emailOutboxRepository.saveAll(batch);
+    }
+
+    private void deliver(EmailOutbox message) {
+        String error;
+        try {
+            error = emailService.deliver(message);
+        } catch (Exception e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        if (error == null) {
+            message.setStatus("SENT");
+            message.setLastError(null);
+        } else if (attempts >= maxAttempts) {
+            message.setStatus("DEAD");
+            message.setLastError(error);
+            log.error("Outbox message {} to {} is dead after {} attempts: {}", message.getId(),
+                    message.getRecipientEmail(), attempts, error);
+        } else {
+            long backoff = Math.min(baseBackoffSeconds << Math.min(attempts - 1, 20), MAX_BACKOFF_SECONDS);
+            message.setStatus("PENDING");
+            message.setLastError(error);
+            message.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoff));
+        }
+        emailOutboxRepository.save(message);
+    }
+}
@@ -2,20 +2,42 @@ package com.schedulr.service;
 
 import com.schedulr.entity.EmailLog;
 import com.schedulr.entity.Booking;
-import com.schedulr.repository.EmailLogRepository;
+import com.schedulr.entity.EmailOutbox;
+import com.schedulr.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Email notifications. The send* methods only render the message and write it
+ * to the outbox in the caller's transaction; {@link EmailOutboxWorker} delivers
+ * it through {@link #deliver(EmailOutbox)} once the transaction has committed.
+ * Booking times are stored in UTC and rendered in the recipient's zone: the zone
+ * the guest booked in for guests, the host's profile zone for hosts.
+ */
 @Service
 @Slf4j
 public class EmailService {
 
-    private final EmailLogRepository emailLogRepository;
+    private static final DateTimeFormatter DATE_TIME =
+            DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy, h:mm a", Locale.ENGLISH);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("h:mm a", Locale.ENGLISH);
+
+    private final EmailLogWriter emailLogWriter;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final MeterRegistry meterRegistry;
 
     @Value("${spring.mail.username:noreply@schedulr.com}")
     private String fromEmail;
@@ -24,66 +46,104 @@ public class EmailService {
 
 
     // Optional injection - won't fail if mail not configured
-    public EmailService(EmailLogRepository emailLogRepository,
+    public EmailService(EmailLogWriter emailLogWriter,
+            EmailOutboxRepository emailOutboxRepository,
+            MeterRegistry meterRegistry,
             @org.springframework.beans.factory.annotation.Autowired(required = false) JavaMailSender mailSender) {
-        this.emailLogRepository = emailLogRepository;
+        this.emailLogWriter = emailLogWriter;
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.meterRegistry = meterRegistry;
         this.mailSender = mailSender;
     }
 
-    @Async
     public void sendBookingConfirmationToGuest(Booking booking) {
         String subject = "Meeting Confirmed: " + booking.getEventType().getName();
         String body = buildGuestConfirmationEmail(booking);
-        sendEmail(booking.getGuestEmail(), subject, body, "BOOKING_CONFIRMATION_GUEST", booking.getId());
+        enqueue(booking.getGuestEmail(), subject, body, "BOOKING_CONFIRMATION_GUEST", booking.getId());
     }
 
-    @Async
     public void sendBookingConfirmationToHost(Booking booking) {
         String subject = "New Meeting Booked: " + booking.getEventType().getName();
         String body = buildHostConfirmationEmail(booking);
-        sendEmail(booking.getHost().getEmail(), subject, body, "BOOKING_CONFIRMATION_HOST", booking.getId());
+        enqueue(booking.getHost().getEmail(), subject, body, "BOOKING_CONFIRMATION_HOST", booking.getId());
     }
 
-    @Async
     public void sendCancellationEmail(Booking booking) {
+        sendCancellationToGuest(booking);
+        sendCancellationToHost(booking);
+    }
+
+    public void sendCancellationToGuest(Booking booking) {
         String subject = "Meeting Cancelled: " + booking.getEventType().getName();
-        String body = "Your meeting scheduled for " + booking.getStartTime() + " has been cancelled.";
-        sendEmail(booking.getGuestEmail(), subject, body, "BOOKING_CANCELLATION", booking.getId());
-        sendEmail(booking.getHost().getEmail(), subject, body, "BOOKING_CANCELLATION", booking.getId());
+        enqueue(booking.getGuestEmail(), subject, buildCancellationEmail(booking, guestZone(booking)),
+                "BOOKING_CANCELLATION", booking.getId());
+    }
+
+    public void sendCancellationToHost(Booking booking) {
+        String subject = "Meeting Cancelled: " + booking.getEventType().getName();
+        enqueue(booking.getHost().getEmail(), subject, buildCancellationEmail(booking, hostZone(booking)),
+                "BOOKING_CANCELLATION", booking.getId());
+    }
+
+    private void enqueue(String to, String subject, String body, String emailType, Long bookingId) {
+        emailOutboxRepository.save(EmailOutbox.builder()
+                .recipientEmail(to)
+                .subject(subject)
+                .body(body)
+                .emailType(emailType)
+                .bookingId(bookingId)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
     }
 
-    private void sendEmail(String to, String subject, String body, String emailType, Long bookingId) {
+    /**
+     * Send one outbox message and record the attempt in email_logs (written behind
+     * by {@link EmailLogWriter}).
+     *
+     * @return null on success, otherwise the failure reason
+     */
+    public String deliver(EmailOutbox message) {
+        String to = message.getRecipientEmail();
         String status = "SENT";
         String errorMessage = null;
 
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             if (mailSender != null) {
-                SimpleMailMessage message = new SimpleMailMessage();
-                message.setFrom(fromEmail);
-                message.setTo(to);
-                message.setSubject(subject);
-                message.setText(body);
-                mailSender.send(message);
-                log.info("Email sent to: {} | Type: {}", to, emailType);
+                SimpleMailMessage mail = new SimpleMailMessage();
+                mail.setFrom(fromEmail);
+                mail.setTo(to);
+                mail.setSubject(message.getSubject());
+                mail.setText(message.getBody());
+                mailSender.send(mail);
+                log.info("Email sent to: {} | Type: {}", to, message.getEmailType());
             } else {
-                log.info("[EMAIL MOCK] To: {} | Subject: {} | Type: {}", to, subject, emailType);
+                log.info("[EMAIL MOCK] To: {} | Subject: {} | Type: {}", to, message.getSubject(),
+                        message.getEmailType());
             }
         } catch (Exception e) {
             status = "FAILED";
-            errorMessage = e.getMessage();
-            log.error("Failed to send email to {}: {}", to, e.getMessage());
+            errorMessage = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            log.error("Failed to send email to {}: {}", to, errorMessage);
         }
+        sample.stop(Timer.builder("email.send")
+                .description("Time to hand one email to the mail server, by type and outcome")
+                .tag("type", String.valueOf(message.getEmailType()))
+                .tag("outcome", errorMessage == null ? "sent" : "failed")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
 
         EmailLog emailLog = EmailLog.builder()
                 .recipientEmail(to)
-                .subject(subject)
-                .body(body)
-                .emailType(emailType)
+                .subject(message.getSubject())
+                .body(message.getBody())
+                .emailType(message.getEmailType())
                 .status(status)
                 .errorMessage(errorMessage)
-                .bookingId(bookingId)
+                .bookingId(message.getBookingId())
                 .build();
-        emailLogRepository.save(emailLog);
+        emailLogWriter.write(emailLog);
+        return errorMessage;
     }
 
     private String buildGuestConfirmationEmail(Booking booking) {
@@ -94,7 +154,7 @@ public class EmailService {
 
                 Meeting: %s
                 Host: %s
-                Date & Time: %s - %s
+                Date & Time: %s
                 %s
 
                 Notes: %s
@@ -104,8 +164,7 @@ public class EmailService {
                 booking.getGuestName(),
                 booking.getEventType().getName(),
                 booking.getHost().getName(),
-                booking.getStartTime(),
-                booking.getEndTime(),
+                formatTimeRange(booking.getStartTime(), booking.getEndTime(), guestZone(booking)),
                 booking.getMeetingLink() != null ? "Meeting Link: " + booking.getMeetingLink() : "",
                 booking.getNotes() != null ? booking.getNotes() : "None");
     }
@@ -118,15 +177,48 @@ public class EmailService {
 
                 Meeting: %s
                 Guest: %s (%s)
-                Date & Time: %s - %s
+                Date & Time: %s
                 Notes: %s
                 """,
                 booking.getHost().getName(),
                 booking.getEventType().getName(),
                 booking.getGuestName(),
                 booking.getGuestEmail(),
-                booking.getStartTime(),
-                booking.getEndTime(),
+                formatTimeRange(booking.getStartTime(), booking.getEndTime(), hostZone(booking)),
                 booking.getNotes() != null ? booking.getNotes() : "None");
     }
+
+    private String buildCancellationEmail(Booking booking, ZoneId zone) {
+        return "Your meeting scheduled for " + formatTimeRange(booking.getStartTime(), booking.getEndTime(), zone)
+                + " has been cancelled.";
+    }
+
+    private static ZoneId hostZone(Booking booking) {
+        return TimeZones.hostZone(booking.getHost());
+    }
+
+    /**
+     * The zone the guest booked in, or the host's for bookings made before it was recorded.
+     */
+    private static ZoneId guestZone(Booking booking) {
+        return booking.getGuestTimezone() != null
+                ? TimeZones.hostZone(booking.getGuestTimezone())
+                : hostZone(booking);
+    }
+
+    /**
+     * Render a UTC time range in {@code zone}, naming the zone and its offset at the
+     * start, e.g. "Sunday, March 8, 2026, 3:30 AM - 4:00 AM (America/New_York, UTC-04:00)".
+     */
+    static String formatTimeRange(LocalDateTime utcStart, LocalDateTime utcEnd, ZoneId zone) {
+        ZonedDateTime start = utcStart.atZone(ZoneOffset.UTC).withZoneSameInstant(zone);
+        ZonedDateTime end = utcEnd.atZone(ZoneOffset.UTC).withZoneSameInstant(zone);
+        String endText = end.toLocalDate().equals(start.toLocalDate()) ? TIME.format(end) : DATE_TIME.format(end);
+        return DATE_TIME.format(start) + " - " + endText + " (" + zoneLabel(zone, start) + ")";
+    }
+
+    private static String zoneLabel(ZoneId zone, ZonedDateTime at) {
+        String offset = at.getOffset().equals(ZoneOffset.UTC) ? "UTC" : "UTC" + at.getOffset().getId();
+        return zone instanceof ZoneOffset ? offset : zone.getId() + ", " + offset;
+    }
 }
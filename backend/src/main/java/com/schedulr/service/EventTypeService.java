@@ -1,18 +1,23 @@
 package com.schedulr.service;
 
+import com.schedulr.cache.HostDirectory;
 import com.schedulr.dto.eventtype.EventTypeDto;
 import com.schedulr.dto.eventtype.EventTypeRequest;
 import com.schedulr.entity.EventType;
+import com.schedulr.entity.Team;
 import com.schedulr.entity.User;
+import com.schedulr.event.ScheduleChangedEvent;
+import com.schedulr.exception.BadRequestException;
 import com.schedulr.exception.ResourceNotFoundException;
 import com.schedulr.repository.EventTypeRepository;
+import com.schedulr.repository.TeamRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,24 +25,18 @@ import java.util.stream.Collectors;
 public class EventTypeService {
 
     private final EventTypeRepository eventTypeRepository;
+    private final HostDirectory hostDirectory;
+    private final TeamRepository teamRepository;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<EventTypeDto> getMyEventTypes() {
-        User user = userService.getCurrentUser();
-        return eventTypeRepository.findByUserId(user.getId())
-                .stream().map(this::toDto).collect(Collectors.toList());
+        Long userId = userService.getCurrentUserId();
+        return eventTypeRepository.findDtosByUserId(userId);
     }
 
     public List<EventTypeDto> getActiveEventTypesByUsername(String username) {
-        User user = userService.getUserByUsername(username) != null ? findUserByUsername(username) : null;
-        if (user == null)
-            throw new ResourceNotFoundException("User not found: " + username);
-        return eventTypeRepository.findByUserIdAndActiveTrue(user.getId())
-                .stream().map(this::toDto).collect(Collectors.toList());
-    }
-
-    private User findUserByUsername(String username) {
-        return userService.getCurrentUser(); // placeholder, replaced below
+        return eventTypeRepository.findActiveDtosByUserId(hostDirectory.require(username).id());
     }
 
     @Transactional
@@ -55,15 +54,17 @@ public class EventTypeService {
                 .color(request.getColor())
                 .active(true)
                 .build();
+        applyScheduling(eventType, request, user.getId());
         eventType = eventTypeRepository.save(eventType);
         log.info("Event type created: {} for user: {}", eventType.getName(), user.getEmail());
+        eventPublisher.publishEvent(ScheduleChangedEvent.eventTypeChanged(user.getId()));
         return toDto(eventType);
     }
 
     @Transactional
     public EventTypeDto updateEventType(Long id, EventTypeRequest request) {
-        User user = userService.getCurrentUser();
-        EventType eventType = eventTypeRepository.findByIdAndUserId(id, user.getId())
+        Long userId = userService.getCurrentUserId();
+        EventType eventType = eventTypeRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event type not found: " + id));
         eventType.setName(request.getName());
         eventType.setDescription(request.getDescription());
@@ -73,25 +74,29 @@ public class EventTypeService {
         eventType.setBufferBefore(request.getBufferBefore());
         eventType.setBufferAfter(request.getBufferAfter());
         eventType.setColor(request.getColor());
+        applyScheduling(eventType, request, userId);
+        eventPublisher.publishEvent(ScheduleChangedEvent.eventTypeChanged(userId));
         return toDto(eventTypeRepository.save(eventType));
     }
 
     @Transactional
     public EventTypeDto toggleActive(Long id) {
-        User user = userService.getCurrentUser();
-        EventType eventType = eventTypeRepository.findByIdAndUserId(id, user.getId())
+        Long userId = userService.getCurrentUserId();
+        EventType eventType = eventTypeRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event type not found: " + id));
         eventType.setActive(!eventType.getActive());
+        eventPublisher.publishEvent(ScheduleChangedEvent.eventTypeChanged(userId));
         return toDto(eventTypeRepository.save(eventType));
     }
 
     @Transactional
     public void deleteEventType(Long id) {
-        User user = userService.getCurrentUser();
-        EventType eventType = eventTypeRepository.findByIdAndUserId(id, user.getId())
+        Long userId = userService.getCurrentUserId();
+        EventType eventType = eventTypeRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event type not found: " + id));
         eventTypeRepository.delete(eventType);
-        log.info("Event type deleted: {} by user: {}", id, user.getEmail());
+        eventPublisher.publishEvent(ScheduleChangedEvent.eventTypeChanged(userId));
+        log.info("Event type deleted: {} by user: {}", id, userId);
     }
 
     public EventTypeDto getById(Long id) {
@@ -99,6 +104,29 @@ public class EventTypeService {
                 .orElseThrow(() -> new ResourceNotFoundException("Event type not found: " + id)));
     }
 
+    /**
+     * Set the scheduling type and team. Team scheduling types need a team owned by
+     * the event type's owner.
+     */
+    private void applyScheduling(EventType eventType, EventTypeRequest request, Long userId) {
+        String schedulingType = request.getSchedulingType() == null ? "INDIVIDUAL"
+                : request.getSchedulingType().trim().toUpperCase();
+        switch (schedulingType) {
+            case "INDIVIDUAL" -> eventType.setTeam(null);
+            case "COLLECTIVE", "ROUND_ROBIN" -> {
+                if (request.getTeamId() == null) {
+                    throw new BadRequestException("A team is required for " + schedulingType + " event types");
+                }
+                Team team = teamRepository.findById(request.getTeamId())
+                        .filter(t -> t.getOwner().getId().equals(userId))
+                        .orElseThrow(() -> new ResourceNotFoundException("Team not found: " + request.getTeamId()));
+                eventType.setTeam(team);
+            }
+            default -> throw new BadRequestException("Unknown scheduling type: " + request.getSchedulingType());
+        }
+        eventType.setSchedulingType(schedulingType);
+    }
+
     public EventTypeDto toDto(EventType et) {
         return EventTypeDto.builder()
                 .id(et.getId())
@@ -112,6 +140,8 @@ public class EventTypeService {
                 .bufferAfter(et.getBufferAfter())
                 .active(et.getActive())
                 .color(et.getColor())
+                .teamId(et.getTeam() != null ? et.getTeam().getId() : null)
+                .schedulingType(et.getSchedulingType())
                 .createdAt(et.getCreatedAt())
                 .build();
     }
@@ -0,0 +1,152 @@
+package com.schedulr.service;
+
+import com.schedulr.entity.User;
+import com.schedulr.event.RoundRobinEvent;
+import com.schedulr.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Picks the host of each round-robin booking: the available member with the
+ * fewest booked meetings of that event type.
+ * Counts are loaded per event type on first use, kept current from committed
+ * {@link RoundRobinEvent}s and periodically recounted from the database.
+ * Assignments whose transaction has not finished yet count as pending load, so
+ * simultaneous bookings spread over the team instead of all picking the same member.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoundRobinBalancer {
+
+    private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, Loads> eventTypes = new ConcurrentHashMap<>();
+
+    /**
+     * Assign a booking to the least-loaded of {@code candidates}; ties go to the
+     * member assigned least recently. Must be called inside the booking transaction.
+     */
+    public User assign(Long eventTypeId, List<User> candidates) {
+        Loads loads = eventTypes.get(eventTypeId);
+        if (loads == null) {
+            // Counted outside the map, which must not run queries while holding a bin lock
+            Loads loaded = load(eventTypeId);
+            loads = eventTypes.putIfAbsent(eventTypeId, loaded);
+            if (loads == null) {
+                loads = loaded;
+            }
+        }
+        User chosen = loads.reserve(candidates);
+        eventPublisher.publishEvent(RoundRobinEvent.assigned(eventTypeId, chosen.getId()));
+        return chosen;
+    }
+
+    @TransactionalEventListener
+    public void onCommitted(RoundRobinEvent event) {
+        Loads loads = eventTypes.get(event.eventTypeId());
+        if (loads != null) {
+            loads.committed(event.hostId(), event.kind());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onRolledBack(RoundRobinEvent event) {
+        Loads loads = eventTypes.get(event.eventTypeId());
+        if (loads != null && event.kind() == RoundRobinEvent.Kind.ASSIGNED) {
+            loads.rolledBack(event.hostId());
+        }
+    }
+
+    /**
+     * Recount every tracked event type in one query, correcting drift from bookings
+     * made on other nodes. A booking that commits while the query runs may be
+     * counted twice or not at all until the next run.
+     */
+    @Scheduled(fixedDelayString = "${app.round-robin.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.round-robin.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (eventTypes.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, Map<Long, Long>> counts = new HashMap<>();
+            for (Object[] row : bookingRepository.countBookedByEventTypeAndHost(eventTypes.keySet())) {
+                counts.computeIfAbsent((Long) row[0], id -> new HashMap<>()).put((Long) row[1], (Long) row[2]);
+            }
+            eventTypes.forEach((eventTypeId, loads) -> loads.replace(counts.getOrDefault(eventTypeId, Map.of())));
+            log.debug("Round-robin loads reconciled for {} event types", eventTypes.size());
+        } catch (Exception e) {
+            log.error("Failed to reconcile round-robin loads: {}", e.getMessage());
+        }
+    }
+
+    private Loads load(Long eventTypeId) {
+        Loads loads = new Loads();
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : bookingRepository.countBookedByEventTypeAndHost(List.of(eventTypeId))) {
+            counts.put((Long) row[1], (Long) row[2]);
+        }
+        loads.replace(counts);
+        return loads;
+    }
+
+    /**
+     * Per-member counts of one event type. All access is serialized on the instance.
+     */
+    private static final class Loads {
+
+        private final Map<Long, Long> committed = new HashMap<>();
+        private final Map<Long, Long> pending = new HashMap<>();
+        private final Map<Long, Long> lastAssigned = new HashMap<>();
+        private long assignments;
+
+        synchronized User reserve(List<User> candidates) {
+            User chosen = null;
+            long chosenLoad = Long.MAX_VALUE;
+            long chosenLast = Long.MAX_VALUE;
+            for (User candidate : candidates) {
+                Long id = candidate.getId();
+                long load = committed.getOrDefault(id, 0L) + pending.getOrDefault(id, 0L);
+                long last = lastAssigned.getOrDefault(id, 0L);
+                if (load < chosenLoad || (load == chosenLoad && last < chosenLast)) {
+                    chosen = candidate;
+                    chosenLoad = load;
+                    chosenLast = last;
+                }
+            }
+            pending.merge(chosen.getId(), 1L, Long::sum);
+            lastAssigned.put(chosen.getId(), ++assignments);
+            return chosen;
+        }
+
+        synchronized void committed(Long hostId, RoundRobinEvent.Kind kind) {
+            if (kind == RoundRobinEvent.Kind.ASSIGNED) {
+                pending.computeIfPresent(hostId, (id, count) -> count > 1 ? count - 1 : null);
+                committed.merge(hostId, 1L, Long::sum);
+            } else {
+                committed.computeIfPresent(hostId, (id, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+
+        synchronized void rolledBack(Long hostId) {
+            pending.computeIfPresent(hostId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+
+        synchronized void replace(Map<Long, Long> counts) {
+            committed.clear();
+            committed.putAll(counts);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.schedulr.service;
+
+import com.schedulr.cache.HostDirectory;
+import com.schedulr.cache.ScheduleVersions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * ETags for the public endpoints, derived from the in-memory {@link ScheduleVersions}
+ * so that If-None-Match is answered without loading, generating or querying anything
+ * once the host is known.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScheduleVersionService {
+
+    // Slots drop out as they pass, so slot ETags also change every few minutes
+    private static final long SLOT_ETAG_WINDOW_SECONDS = 300;
+
+    private final ScheduleVersions scheduleVersions;
+    private final HostDirectory hostDirectory;
+
+    /**
+     * ETag for responses built from the host's profile, event types or availability,
+     * or empty if there is no such host.
+     */
+    public Optional<String> hostETag(String username) {
+        return hostDirectory.find(username)
+                .map(host -> quote(scheduleVersions.epoch() + "-" + host.id() + "-"
+                        + scheduleVersions.version(host.id())));
+    }
+
+    /**
+     * ETag for the slots of an event type: covers the host, every active team member
+     * and the current {@value #SLOT_ETAG_WINDOW_SECONDS}-second window.
+     */
+    public Optional<String> slotsETag(String username, Long eventTypeId) {
+        return hostDirectory.find(username)
+                .map(host -> {
+                    long hash = scheduleVersions.version(host.id());
+                    for (Long member : scheduleVersions.activeTeamMembers(eventTypeId)) {
+                        hash = 31 * hash + member;
+                        hash = 31 * hash + scheduleVersions.version(member);
+                    }
+                    hash = 31 * hash + Instant.now().getEpochSecond() / SLOT_ETAG_WINDOW_SECONDS;
+                    return quote(scheduleVersions.epoch() + "-" + host.id() + "-" + eventTypeId + "-"
+                            + Long.toHexString(hash));
+                });
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
@@ -1,101 +1,688 @@
 package com.schedulr.service;
 
+import com.schedulr.cache.HostScheduleCache;
+import com.schedulr.cache.HostScheduleCache.HostSchedule;
+import com.schedulr.cache.SlotHoldRegistry;
+import com.schedulr.cache.ZoneTransitions;
 import com.schedulr.dto.booking.TimeSlotDto;
-import com.schedulr.entity.AvailabilityRule;
 import com.schedulr.entity.Booking;
+import com.schedulr.entity.AvailabilityRule;
 import com.schedulr.entity.EventType;
+import com.schedulr.entity.User;
 import com.schedulr.repository.AvailabilityRuleRepository;
 import com.schedulr.repository.BookingRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * CRITICAL: Slot Generation Engine
  * Reads availability rules, generates time slots based on event duration,
  * applies buffer times, removes past slots, and removes already booked slots.
+ * Rules and busy time are served from {@link HostScheduleCache} where possible.
+ * Booking times are stored as UTC wall-clock {@link LocalDateTime}s.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SlotGenerationService {
 
+    private static final long SECONDS_PER_DAY = 86_400;
+    // 1970-01-01 was a Thursday; DayOfWeek ordinals start at MONDAY = 0
+    private static final int EPOCH_DAY_OF_WEEK = DayOfWeek.THURSDAY.ordinal();
+    // Team slots start on this grid, so free time that opens at an odd minute still
+    // produces round start times
+    private static final long TEAM_GRID_SECONDS = 5 * 60;
+
     private final AvailabilityRuleRepository availabilityRuleRepository;
     private final BookingRepository bookingRepository;
+    private final HostScheduleCache hostScheduleCache;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final MeterRegistry meterRegistry;
+
+    private Timer generateTimer;
+    private Timer teamTimer;
+    private DistributionSummary slotsProduced;
+    private DistributionSummary busyScanned;
+
+    @PostConstruct
+    void registerMeters() {
+        generateTimer = Timer.builder("slots.generate")
+                .description("Time to generate the slots of one event type for a date range")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        teamTimer = Timer.builder("slots.generate.team")
+                .description("Time to generate the slots of one team event type for a date range")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        slotsProduced = DistributionSummary.builder("slots.generate.produced")
+                .description("Slots produced per generation")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        busyScanned = DistributionSummary.builder("slots.generate.busy.scanned")
+                .description("Busy intervals (bookings and holds) scanned per generation")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
     /**
-     * Generate available slots for a given event type and date range.
+     * Generate slots for an event type whose start falls on [startDate, endDate] in
+     * the guest's zone. Availability rules are read in the host's zone; all overlap
+     * checks run on epoch seconds, and slot times are rendered in the guest's zone.
+     * Rule times skipped by a DST gap produce no slot; rule times repeated by a DST
+     * overlap produce one slot, at their first occurrence.
      */
-    public List<TimeSlotDto> generateSlots(EventType eventType, LocalDate startDate, LocalDate endDate) {
+    public List<TimeSlotDto> generateSlots(EventType eventType, ZoneId hostZone, ZoneId guestZone,
+            LocalDate startDate, LocalDate endDate) {
+        List<TimeSlotDto> slots = new ArrayList<>();
+        generateSlots(eventType, hostZone, guestZone, startDate, endDate, slots::add);
+        return slots;
+    }
+
+    /**
+     * Like {@link #generateSlots(EventType, ZoneId, ZoneId, LocalDate, LocalDate)},
+     * but hands each slot to {@code sink} as soon as it is produced, in start order.
+     * Generation stops early once {@code sink} returns false. Rules and busy time
+     * for the whole range are still loaded up front.
+     */
+    public void generateSlots(EventType eventType, ZoneId hostZone, ZoneId guestZone,
+            LocalDate startDate, LocalDate endDate, Predicate<TimeSlotDto> sink) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         Long hostId = eventType.getUser().getId();
-        int duration = eventType.getDurationMinutes();
-        int bufferBefore = eventType.getBufferBefore();
-        int bufferAfter = eventType.getBufferAfter();
+        long duration = eventType.getDurationMinutes() * 60L;
+        long bufferBefore = eventType.getBufferBefore() * 60L;
+        long bufferAfter = eventType.getBufferAfter() * 60L;
+        ZoneTransitions hostTransitions = ZoneTransitions.of(hostZone);
+        ZoneTransitions guestTransitions = ZoneTransitions.of(guestZone);
+
+        long rangeStart = startDate.atStartOfDay(guestZone).toEpochSecond();
+        long rangeEnd = endDate.plusDays(1).atStartOfDay(guestZone).toEpochSecond();
+        long now = Instant.now().getEpochSecond();
+
+        HostSchedule schedule = hostScheduleCache.get(hostId);
+        int[] ruleWindows = loadRuleWindows(hostId, schedule);
+        // Busy time is stored per UTC day; cover every day a slot or its buffers can reach
+        long[] busy = loadBusyIntervals(hostId, schedule,
+                utcDate(rangeStart - bufferBefore),
+                utcDate(rangeEnd + duration + bufferAfter));
+        // Slots held by guests who are filling in the booking form count as busy
+        busy = mergeIntervals(busy, slotHoldRegistry.heldIntervals(hostId, null));
+        int cursor = 0;
+
+        int produced = 0;
+
+        // Candidate slots are produced in increasing order (host day by host day, then
+        // by start time), so a single forward cursor over the merged busy intervals
+        // answers every overlap check in O(slots + bookings).
+        long firstHostDay = Math.floorDiv(rangeStart + hostTransitions.offsetAt(rangeStart), SECONDS_PER_DAY);
+        long lastHostDay = Math.floorDiv(rangeEnd - 1 + hostTransitions.offsetAt(rangeEnd - 1), SECONDS_PER_DAY);
+        days:
+        for (long hostDay = firstHostDay; hostDay <= lastHostDay; hostDay++) {
+            int windowIndex = (int) Math.floorMod(hostDay + EPOCH_DAY_OF_WEEK, 7) * 2;
+            if (ruleWindows[windowIndex] < 0) {
+                continue;
+            }
+            long dayStart = hostDay * SECONDS_PER_DAY;
+            long localStart = dayStart + ruleWindows[windowIndex];
+            long localEnd = dayStart + ruleWindows[windowIndex + 1];
+
+            for (; localStart + duration <= localEnd; localStart += duration + bufferAfter) {
+                long slotStart = hostTransitions.toEpochSecond(localStart);
+                // Skip rule times that do not exist in the host's zone, past slots and
+                // slots outside the guest's date range
+                if (slotStart == ZoneTransitions.NONEXISTENT || slotStart <= now
+                        || slotStart < rangeStart || slotStart >= rangeEnd) {
+                    continue;
+                }
+                long slotEnd = slotStart + duration;
 
-        List<AvailabilityRule> rules = availabilityRuleRepository.findByUserIdAndIsAvailableTrue(hostId);
-        List<Booking> existingBookings = bookingRepository.findBookedSlots(
-                hostId,
-                startDate.atStartOfDay(),
-                endDate.plusDays(1).atStartOfDay());
+                // Check for overlapping bookings (including buffers)
+                long effectiveStart = slotStart - bufferBefore;
+                long effectiveEnd = slotEnd + bufferAfter;
+                while (cursor < busy.length && busy[cursor + 1] <= effectiveStart) {
+                    cursor += 2;
+                }
+                boolean isBooked = cursor < busy.length && busy[cursor] < effectiveEnd;
 
+                produced++;
+                if (!sink.test(TimeSlotDto.builder()
+                        .startTime(toLocal(slotStart, guestTransitions))
+                        .endTime(toLocal(slotEnd, guestTransitions))
+                        .timezone(guestZone.getId())
+                        .available(!isBooked)
+                        .build())) {
+                    break days;
+                }
+            }
+        }
+
+        sample.stop(generateTimer);
+        slotsProduced.record(produced);
+        busyScanned.record(busy.length / 2);
+        log.debug("Generated {} slots for event type {} from {} to {} ({})", produced, eventType.getId(),
+                startDate, endDate, guestZone);
+    }
+
+    /**
+     * Generate slots for a team event type. A COLLECTIVE slot is offered only when
+     * every member is free for it, a ROUND_ROBIN slot when at least one member is,
+     * buffers included either way. Rules and bookings come from each member's cached
+     * schedule, with whatever is missing loaded for all members in one query each.
+     * Each member's possible slot starts are computed in epoch seconds, in the
+     * member's own zone, and all members are combined in a single sweep over the
+     * sorted interval endpoints, so the cost grows with the number of free intervals
+     * rather than with members times candidate slots.
+     * Holds on the event type are placed with its owner and block every member.
+     */
+    public List<TimeSlotDto> generateTeamSlots(EventType eventType, List<User> members, ZoneId guestZone,
+            LocalDate startDate, LocalDate endDate) {
         List<TimeSlotDto> slots = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
-
-        LocalDate current = startDate;
-        while (!current.isAfter(endDate)) {
-            final LocalDate date = current;
-            String dayOfWeek = date.getDayOfWeek().name();
-
-            rules.stream()
-                    .filter(r -> r.getDayOfWeek().equalsIgnoreCase(dayOfWeek))
-                    .findFirst()
-                    .ifPresent(rule -> {
-                        LocalTime slotStart = rule.getStartTime();
-                        LocalTime slotEnd = rule.getEndTime();
-
-                        while (!slotStart.plusMinutes(duration).isAfter(slotEnd)) {
-                            LocalDateTime slotStartDt = date.atTime(slotStart);
-                            LocalDateTime slotEndDt = slotStartDt.plusMinutes(duration);
-
-                            // Skip past slots
-                            if (slotStartDt.isAfter(now)) {
-                                // Check for overlapping bookings (including buffers)
-                                LocalDateTime effectiveStart = slotStartDt.minusMinutes(bufferBefore);
-                                LocalDateTime effectiveEnd = slotEndDt.plusMinutes(bufferAfter);
-
-                                boolean isBooked = existingBookings.stream()
-                                        .anyMatch(b -> b.getStartTime().isBefore(effectiveEnd) &&
-                                                b.getEndTime().isAfter(effectiveStart));
-
-                                slots.add(TimeSlotDto.builder()
-                                        .startTime(slotStartDt)
-                                        .endTime(slotEndDt)
-                                        .available(!isBooked)
-                                        .build());
-                            }
-
-                            slotStart = slotStart.plusMinutes(duration + bufferAfter);
-                        }
-                    });
-
-            current = current.plusDays(1);
-        }
-
-        log.debug("Generated {} slots for event type {} from {} to {}", slots.size(), eventType.getId(), startDate,
-                endDate);
+        generateTeamSlots(eventType, members, guestZone, startDate, endDate, slots::add);
         return slots;
     }
 
     /**
-     * Check if a specific slot is available.
+     * Like {@link #generateTeamSlots(EventType, List, ZoneId, LocalDate, LocalDate)},
+     * but hands each slot to {@code sink} as soon as it is produced, in start order.
+     * Generation stops early once {@code sink} returns false.
+     */
+    public void generateTeamSlots(EventType eventType, List<User> members, ZoneId guestZone,
+            LocalDate startDate, LocalDate endDate, Predicate<TimeSlotDto> sink) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long duration = eventType.getDurationMinutes() * 60L;
+        long step = duration + eventType.getBufferAfter() * 60L;
+        ZoneTransitions guestTransitions = ZoneTransitions.of(guestZone);
+
+        long rangeStart = startDate.atStartOfDay(guestZone).toEpochSecond();
+        long rangeEnd = endDate.plusDays(1).atStartOfDay(guestZone).toEpochSecond();
+        // Slots must start after now and inside the range, and may end past the range
+        long[][] starts = memberStarts(eventType, members, Math.max(rangeStart, Instant.now().getEpochSecond() + 1),
+                rangeEnd, null);
+        long[] windows = covered(starts,
+                "COLLECTIVE".equals(eventType.getSchedulingType()) ? starts.length : Math.min(1, starts.length));
+
+        int produced = 0;
+        sweep:
+        for (int i = 0; i < windows.length; i += 2) {
+            long slotStart = -Math.floorDiv(-windows[i], TEAM_GRID_SECONDS) * TEAM_GRID_SECONDS;
+            for (; slotStart < windows[i + 1]; slotStart += step) {
+                produced++;
+                if (!sink.test(TimeSlotDto.builder()
+                        .startTime(toLocal(slotStart, guestTransitions))
+                        .endTime(toLocal(slotStart + duration, guestTransitions))
+                        .timezone(guestZone.getId())
+                        .available(true)
+                        .build())) {
+                    break sweep;
+                }
+            }
+        }
+
+        sample.stop(teamTimer);
+        slotsProduced.record(produced);
+        log.debug("Generated {} {} slots for event type {} across {} members from {} to {} ({})", produced,
+                eventType.getSchedulingType(), eventType.getId(), members.size(), startDate, endDate, guestZone);
+    }
+
+    /**
+     * Members of a team event type who are free for a slot starting at
+     * {@code startTime}, by the same rules that {@link #generateTeamSlots} applies.
+     * The owner's hold identified by {@code exceptToken} is ignored.
+     */
+    public List<User> availableMembers(EventType eventType, List<User> members, LocalDateTime startTime,
+            String exceptToken) {
+        long start = toEpochSecond(startTime);
+        long[][] starts = memberStarts(eventType, members, start, start + 1, exceptToken);
+        List<User> available = new ArrayList<>();
+        for (int i = 0; i < starts.length; i++) {
+            if (starts[i].length > 0) {
+                available.add(members.get(i));
+            }
+        }
+        return available;
+    }
+
+    /**
+     * For each member, the times in [lo, hi) at which a slot of the event type could
+     * start: inside the member's availability, and clear of their bookings and holds
+     * by at least the event type's buffers. Returned as sorted, flattened intervals.
      */
-    public boolean isSlotAvailable(Long hostId, LocalDateTime startTime, LocalDateTime endTime) {
-        return !bookingRepository.existsOverlappingBooking(hostId, startTime, endTime);
+    private long[][] memberStarts(EventType eventType, List<User> members, long lo, long hi, String exceptToken) {
+        Long ownerId = eventType.getUser().getId();
+        long duration = eventType.getDurationMinutes() * 60L;
+        long bufferBefore = eventType.getBufferBefore() * 60L;
+        long bufferAfter = eventType.getBufferAfter() * 60L;
+
+        List<Long> memberIds = members.stream().map(User::getId).toList();
+        int[][] ruleWindows = loadRuleWindows(memberIds);
+        long[][] busy = loadBusyIntervals(memberIds,
+                utcDate(lo - bufferBefore), utcDate(hi + duration + bufferAfter));
+        long[] ownerHolds = slotHoldRegistry.heldIntervals(ownerId, exceptToken);
+
+        long[][] starts = new long[members.size()][];
+        int busyCount = 0;
+        for (int i = 0; i < starts.length; i++) {
+            long[] memberBusy = mergeIntervals(busy[i], memberIds.get(i).equals(ownerId) ? ownerHolds
+                    : mergeIntervals(slotHoldRegistry.heldIntervals(memberIds.get(i), null), ownerHolds));
+            busyCount += memberBusy.length / 2;
+            // A slot [s, s + duration) conflicts with busy [b0, b1) exactly when it
+            // overlaps [b0 - bufferAfter, b1 + bufferBefore)
+            long[] free = subtract(
+                    availableWindows(ruleWindows[i], TimeZones.hostZone(members.get(i)), lo, hi - 1 + duration),
+                    expand(memberBusy, bufferAfter, bufferBefore));
+            starts[i] = shrink(free, duration);
+        }
+        busyScanned.record(busyCount);
+        return starts;
+    }
+
+    /**
+     * Check whether a slot of the event type starting at {@code startTime} is free of
+     * bookings and of holds other than the one identified by {@code exceptToken},
+     * with the event type's buffers around it, as {@link #generateSlots} checks it.
+     */
+    public boolean isFree(Long hostId, EventType eventType, LocalDateTime startTime, String exceptToken) {
+        long start = toEpochSecond(startTime) - eventType.getBufferBefore() * 60L;
+        long end = toEpochSecond(startTime) + (eventType.getDurationMinutes() + eventType.getBufferAfter()) * 60L;
+        long[] busy = loadBusyIntervals(hostId, hostScheduleCache.get(hostId), utcDate(start), utcDate(end));
+        return !overlaps(busy, start, end)
+                && !overlaps(slotHoldRegistry.heldIntervals(hostId, exceptToken), start, end);
+    }
+
+    /**
+     * Check whether a slot of the event type starting at {@code startTime}, buffers
+     * included, is free of holds other than the one identified by {@code exceptToken}.
+     */
+    public boolean isHoldFree(Long hostId, EventType eventType, LocalDateTime startTime, String exceptToken) {
+        long start = toEpochSecond(startTime) - eventType.getBufferBefore() * 60L;
+        long end = toEpochSecond(startTime) + (eventType.getDurationMinutes() + eventType.getBufferAfter()) * 60L;
+        return !overlaps(slotHoldRegistry.heldIntervals(hostId, exceptToken), start, end);
+    }
+
+    private int[] loadRuleWindows(Long hostId, HostSchedule schedule) {
+        int[] windows = schedule.ruleWindows();
+        if (windows == null) {
+            long version = schedule.version();
+            windows = HostScheduleCache.toRuleWindows(availabilityRuleRepository.findByUserIdAndIsAvailableTrue(hostId));
+            schedule.installRules(windows, version);
+        }
+        return windows;
+    }
+
+    /**
+     * Rule windows of several hosts, loading every host that is not cached in one query.
+     */
+    private int[][] loadRuleWindows(List<Long> hostIds) {
+        int[][] windows = new int[hostIds.size()][];
+        long[] versions = new long[hostIds.size()];
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < windows.length; i++) {
+            HostSchedule schedule = hostScheduleCache.get(hostIds.get(i));
+            versions[i] = schedule.version();
+            windows[i] = schedule.ruleWindows();
+            if (windows[i] == null) {
+                missing.add(hostIds.get(i));
+            }
+        }
+        if (missing.isEmpty()) {
+            return windows;
+        }
+
+        Map<Long, List<AvailabilityRule>> rulesByHost = availabilityRuleRepository
+                .findByUserIdInAndIsAvailableTrue(missing).stream()
+                .collect(Collectors.groupingBy(rule -> rule.getUser().getId()));
+        for (int i = 0; i < windows.length; i++) {
+            if (windows[i] == null) {
+                Long hostId = hostIds.get(i);
+                windows[i] = HostScheduleCache.toRuleWindows(rulesByHost.getOrDefault(hostId, List.of()));
+                hostScheduleCache.get(hostId).installRules(windows[i], versions[i]);
+            }
+        }
+        return windows;
+    }
+
+    /**
+     * Busy intervals of several hosts for [from, to], loading the days that are not
+     * cached yet for all of them in one query.
+     */
+    private long[][] loadBusyIntervals(List<Long> hostIds, LocalDate from, LocalDate to) {
+        long[][] busy = new long[hostIds.size()][];
+        if (!hostScheduleCache.covers(from, to)) {
+            // Beyond the cached horizon: one query for all hosts, nothing installed
+            Map<Long, List<Booking>> bookingsByHost = new HashMap<>();
+            for (Booking booking : bookingRepository.findBookedOverlappingForHosts(hostIds,
+                    from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+                bookingsByHost.computeIfAbsent(booking.getHost().getId(), id -> new ArrayList<>()).add(booking);
+            }
+            for (int i = 0; i < busy.length; i++) {
+                busy[i] = mergeBusyIntervals(bookingsByHost.getOrDefault(hostIds.get(i), List.of()));
+            }
+            return busy;
+        }
+        long[] versions = new long[hostIds.size()];
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (int i = 0; i < busy.length; i++) {
+            HostSchedule schedule = hostScheduleCache.get(hostIds.get(i));
+            versions[i] = schedule.version();
+            busy[i] = schedule.busyIntervals(from, to);
+            if (busy[i] == null) {
+                LocalDate first = schedule.firstMissingDay(from, to);
+                LocalDate last = schedule.lastMissingDay(from, to);
+                if (first != null && (firstMissing == null || first.isBefore(firstMissing))) {
+                    firstMissing = first;
+                }
+                if (last != null && (lastMissing == null || last.isAfter(lastMissing))) {
+                    lastMissing = last;
+                }
+            }
+        }
+        if (firstMissing == null || lastMissing == null) {
+            return busy;
+        }
+
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < busy.length; i++) {
+            if (busy[i] == null) {
+                missing.add(hostIds.get(i));
+            }
+        }
+        Map<Long, List<Booking>> bookingsByHost = new HashMap<>();
+        for (Booking booking : bookingRepository.findBookedOverlappingForHosts(missing,
+                firstMissing.atStartOfDay(), lastMissing.plusDays(1).atStartOfDay())) {
+            bookingsByHost.computeIfAbsent(booking.getHost().getId(), id -> new ArrayList<>()).add(booking);
+        }
+        for (int i = 0; i < busy.length; i++) {
+            if (busy[i] != null) {
+                continue;
+            }
+            Long hostId = hostIds.get(i);
+            HostSchedule schedule = hostScheduleCache.get(hostId);
+            schedule.installDays(firstMissing, lastMissing, bookingsByHost.getOrDefault(hostId, List.of()),
+                    versions[i]);
+            busy[i] = schedule.busyIntervals(from, to);
+            if (busy[i] == null) {
+                // Raced with a booking change or an eviction; answer this call directly
+                busy[i] = mergeBusyIntervals(bookingRepository.findBookedOverlapping(hostId,
+                        from.atStartOfDay(), to.plusDays(1).atStartOfDay()));
+            }
+        }
+        return busy;
+    }
+
+    /**
+     * Busy intervals for [from, to] from the host's cached bitmaps, loading only the
+     * days that are not cached yet in a single query.
+     */
+    private long[] loadBusyIntervals(Long hostId, HostSchedule schedule, LocalDate from, LocalDate to) {
+        long[] busy = schedule.busyIntervals(from, to);
+        if (busy != null) {
+            return busy;
+        }
+        if (!hostScheduleCache.covers(from, to)) {
+            // Beyond the cached horizon; loading the cacheable part as well is not worth a second query
+            return mergeBusyIntervals(bookingRepository.findBookedOverlapping(hostId,
+                    from.atStartOfDay(), to.plusDays(1).atStartOfDay()));
+        }
+
+        long version = schedule.version();
+        LocalDate firstMissing = schedule.firstMissingDay(from, to);
+        LocalDate lastMissing = schedule.lastMissingDay(from, to);
+        if (firstMissing != null && lastMissing != null) {
+            List<Booking> bookings = bookingRepository.findBookedOverlapping(hostId,
+                    firstMissing.atStartOfDay(), lastMissing.plusDays(1).atStartOfDay());
+            schedule.installDays(firstMissing, lastMissing, bookings, version);
+        }
+
+        busy = schedule.busyIntervals(from, to);
+        if (busy == null) {
+            // A concurrent booking change invalidated the load; answer this call directly
+            busy = mergeBusyIntervals(bookingRepository.findBookedOverlapping(hostId,
+                    from.atStartOfDay(), to.plusDays(1).atStartOfDay()));
+        }
+        return busy;
+    }
+
+    /**
+     * Sort bookings by start time and collapse overlapping or touching ones into
+     * disjoint busy intervals, flattened as [start0, end0, start1, end1, ...] in
+     * epoch seconds. A slot overlaps the merged set exactly when it overlaps at
+     * least one of the original bookings.
+     */
+    static long[] mergeBusyIntervals(List<Booking> bookings) {
+        long[][] intervals = new long[bookings.size()][];
+        for (int i = 0; i < intervals.length; i++) {
+            Booking b = bookings.get(i);
+            intervals[i] = new long[] { toEpochSecond(b.getStartTime()), toEpochSecond(b.getEndTime()) };
+        }
+        Arrays.sort(intervals, Comparator.comparingLong(interval -> interval[0]));
+
+        long[] merged = new long[intervals.length * 2];
+        int size = 0;
+        for (long[] interval : intervals) {
+            if (size > 0 && interval[0] <= merged[size - 1]) {
+                merged[size - 1] = Math.max(merged[size - 1], interval[1]);
+            } else {
+                merged[size++] = interval[0];
+                merged[size++] = interval[1];
+            }
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    /**
+     * Merge two sorted, flattened interval arrays into one sorted array of disjoint
+     * intervals.
+     */
+    static long[] mergeIntervals(long[] a, long[] b) {
+        if (b.length == 0) {
+            return a;
+        }
+        long[] merged = new long[a.length + b.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            long[] next;
+            int index;
+            if (j >= b.length || (i < a.length && a[i] <= b[j])) {
+                next = a;
+                index = i;
+                i += 2;
+            } else {
+                next = b;
+                index = j;
+                j += 2;
+            }
+            if (size > 0 && next[index] <= merged[size - 1]) {
+                merged[size - 1] = Math.max(merged[size - 1], next[index + 1]);
+            } else {
+                merged[size++] = next[index];
+                merged[size++] = next[index + 1];
+            }
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    /**
+     * A host's availability windows that overlap [lo, hi], as sorted, flattened epoch
+     * second intervals clipped to [lo, hi]. Window edges skipped by a DST gap move
+     * forward to the end of the gap.
+     */
+    static long[] availableWindows(int[] ruleWindows, ZoneId zone, long lo, long hi) {
+        ZoneTransitions transitions = ZoneTransitions.of(zone);
+        // One extra day on each side covers windows that a DST overlap shifts across midnight
+        long firstDay = Math.floorDiv(lo + transitions.offsetAt(lo), SECONDS_PER_DAY) - 1;
+        long lastDay = Math.floorDiv(hi + transitions.offsetAt(hi), SECONDS_PER_DAY) + 1;
+        long[] windows = new long[(int) (lastDay - firstDay + 1) * 2];
+        int size = 0;
+        for (long day = firstDay; day <= lastDay; day++) {
+            int windowIndex = (int) Math.floorMod(day + EPOCH_DAY_OF_WEEK, 7) * 2;
+            if (ruleWindows[windowIndex] < 0) {
+                continue;
+            }
+            long dayStart = day * SECONDS_PER_DAY;
+            long start = Math.max(transitions.toEpochSecondLenient(dayStart + ruleWindows[windowIndex]), lo);
+            long end = Math.min(transitions.toEpochSecondLenient(dayStart + ruleWindows[windowIndex + 1]), hi);
+            if (start < end) {
+                windows[size++] = start;
+                windows[size++] = end;
+            }
+        }
+        return Arrays.copyOf(windows, size);
+    }
+
+    /**
+     * Widen every interval by {@code before} and {@code after} seconds, merging any
+     * that start to overlap.
+     */
+    static long[] expand(long[] intervals, long before, long after) {
+        if (before == 0 && after == 0) {
+            return intervals;
+        }
+        long[] expanded = new long[intervals.length];
+        int size = 0;
+        for (int i = 0; i < intervals.length; i += 2) {
+            long start = intervals[i] - before;
+            long end = intervals[i + 1] + after;
+            if (size > 0 && start <= expanded[size - 1]) {
+                expanded[size - 1] = Math.max(expanded[size - 1], end);
+            } else {
+                expanded[size++] = start;
+                expanded[size++] = end;
+            }
+        }
+        return Arrays.copyOf(expanded, size);
+    }
+
+    /**
+     * Remove the sorted, disjoint intervals {@code b} from the sorted, disjoint intervals {@code a}.
+     */
+    static long[] subtract(long[] a, long[] b) {
+        long[] result = new long[a.length + b.length];
+        int size = 0;
+        int j = 0;
+        for (int i = 0; i < a.length; i += 2) {
+            long start = a[i];
+            long end = a[i + 1];
+            while (j < b.length && b[j + 1] <= start) {
+                j += 2;
+            }
+            for (int k = j; k < b.length && b[k] < end; k += 2) {
+                if (b[k] > start) {
+                    result[size++] = start;
+                    result[size++] = b[k];
+                }
+                start = Math.max(start, b[k + 1]);
+            }
+            if (start < end) {
+                result[size++] = start;
+                result[size++] = end;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Turn free intervals into the intervals of times at which a slot of
+     * {@code duration} seconds fits: [start, end - duration + 1) for every free
+     * interval at least that long.
+     */
+    static long[] shrink(long[] free, long duration) {
+        long[] starts = new long[free.length];
+        int size = 0;
+        for (int i = 0; i < free.length; i += 2) {
+            if (free[i + 1] - free[i] >= duration) {
+                starts[size++] = free[i];
+                starts[size++] = free[i + 1] - duration + 1;
+            }
+        }
+        return Arrays.copyOf(starts, size);
+    }
+
+    /**
+     * Combine several sets of sorted, disjoint intervals in one sweep, keeping the
+     * times covered by at least {@code required} sets: all of them for an
+     * intersection, one for a union. Every endpoint is sorted once, encoded as
+     * {@code time << 1 | isStart}, so at equal times ends sort before starts and
+     * intervals that only touch do not overlap.
+     */
+    static long[] covered(long[][] sets, int required) {
+        if (required <= 0 || required > sets.length) {
+            return new long[0];
+        }
+        int count = 0;
+        for (long[] set : sets) {
+            count += set.length;
+        }
+        long[] events = new long[count];
+        int eventCount = 0;
+        for (long[] set : sets) {
+            for (int i = 0; i < set.length; i += 2) {
+                events[eventCount++] = set[i] << 1 | 1;
+                events[eventCount++] = set[i + 1] << 1;
+            }
+        }
+        Arrays.sort(events);
+
+        // Each covered interval ends at one of the endpoints, so count bounds the result
+        long[] result = new long[count];
+        int size = 0;
+        int depth = 0;
+        long openedAt = 0;
+        for (long event : events) {
+            long time = event >> 1;
+            if ((event & 1) != 0) {
+                if (++depth == required) {
+                    openedAt = time;
+                }
+            } else {
+                if (depth-- == required && time > openedAt) {
+                    result[size++] = openedAt;
+                    result[size++] = time;
+                }
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static LocalDate utcDate(long epochSecond) {
+        return LocalDate.ofEpochDay(Math.floorDiv(epochSecond, SECONDS_PER_DAY));
+    }
+
+    private static LocalDateTime toLocal(long epochSecond, ZoneTransitions zone) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.ofTotalSeconds(zone.offsetAt(epochSecond)));
+    }
+
+    private static boolean overlaps(long[] intervals, long start, long end) {
+        for (int i = 0; i < intervals.length; i += 2) {
+            if (intervals[i] < end && intervals[i + 1] > start) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
     }
 }
@@ -0,0 +1,176 @@
+package com.schedulr.service;
+
+import com.schedulr.cache.HostDirectory;
+import com.schedulr.dto.booking.SlotHoldDto;
+import com.schedulr.dto.booking.SlotHoldRequest;
+import com.schedulr.entity.EventType;
+import com.schedulr.entity.SlotHold;
+import com.schedulr.entity.User;
+import com.schedulr.event.ScheduleChangedEvent;
+import com.schedulr.exception.BadRequestException;
+import com.schedulr.exception.ConflictException;
+import com.schedulr.exception.ResourceNotFoundException;
+import com.schedulr.repository.EventTypeRepository;
+import com.schedulr.repository.SlotHoldRepository;
+import com.schedulr.repository.TeamMemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Slot holds: short reservations that keep a slot out of everyone else's view
+ * while a guest fills in the booking form.
+ */
+@Service
+@Slf4j
+public class SlotHoldService {
+
+    private final SlotHoldRepository slotHoldRepository;
+    private final HostDirectory hostDirectory;
+    private final EventTypeRepository eventTypeRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final SlotGenerationService slotGenerationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int holdMinutes;
+
+    public SlotHoldService(SlotHoldRepository slotHoldRepository,
+            HostDirectory hostDirectory,
+            EventTypeRepository eventTypeRepository,
+            TeamMemberRepository teamMemberRepository,
+            SlotGenerationService slotGenerationService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.holds.duration-minutes:10}") int holdMinutes) {
+        this.slotHoldRepository = slotHoldRepository;
+        this.hostDirectory = hostDirectory;
+        this.eventTypeRepository = eventTypeRepository;
+        this.teamMemberRepository = teamMemberRepository;
+        this.slotGenerationService = slotGenerationService;
+        this.eventPublisher = eventPublisher;
+        this.holdMinutes = holdMinutes;
+    }
+
+    @Transactional
+    public SlotHoldDto placeHold(String username, SlotHoldRequest request) {
+        HostDirectory.Host host = hostDirectory.require(username);
+        EventType eventType = eventTypeRepository.findById(request.getEventTypeId())
+                .orElseThrow(() -> new ResourceNotFoundException("Event type not found"));
+
+        if (!eventType.getUser().getId().equals(host.id())) {
+            throw new BadRequestException("Event type does not belong to this host");
+        }
+        if (!eventType.getActive()) {
+            throw new BadRequestException("This event type is not currently available");
+        }
+
+        ZoneId guestZone = TimeZones.parse(request.getTimezone(), TimeZones.hostZone(host.timezone()));
+        LocalDateTime startTime = TimeZones.toUtc(request.getStartTime(), guestZone);
+        LocalDateTime endTime = startTime.plusMinutes(eventType.getDurationMinutes());
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        if (startTime.isBefore(now)) {
+            throw new BadRequestException("Cannot hold a slot in the past");
+        }
+        if (!isFree(host.id(), eventType, startTime)) {
+            throw new ConflictException("This time slot is no longer available. Please choose another.");
+        }
+
+        slotHoldRepository.deleteExpiredByHostId(host.id(), now);
+        SlotHold hold = SlotHold.builder()
+                .hostId(host.id())
+                .eventTypeId(eventType.getId())
+                .token(UUID.randomUUID().toString())
+                .startTime(startTime)
+                .endTime(endTime)
+                .expiresAt(now.plusMinutes(holdMinutes))
+                .build();
+        // Concurrent holds from other nodes are rejected by the slot_holds_no_overlap constraint
+        try {
+            hold = slotHoldRepository.saveAndFlush(hold);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("This time slot is being booked by someone else. Please choose another.");
+        }
+        eventPublisher.publishEvent(ScheduleChangedEvent.holdsChanged(host.id()));
+        log.debug("Slot hold placed for host {} at {}", host.id(), startTime);
+        return toDto(hold);
+    }
+
+    /**
+     * Holds on team event types are kept with the owner. They need every member to be
+     * free for collective event types, and any member for round-robin ones. Buffers
+     * apply as they do when the slots are offered.
+     */
+    private boolean isFree(Long hostId, EventType eventType, LocalDateTime startTime) {
+        if (eventType.getTeam() == null) {
+            return slotGenerationService.isFree(hostId, eventType, startTime, null);
+        }
+        List<User> members = teamMemberRepository.findActiveUsersByTeamId(eventType.getTeam().getId());
+        int available = slotGenerationService.availableMembers(eventType, members, startTime, null).size();
+        return "COLLECTIVE".equals(eventType.getSchedulingType())
+                ? !members.isEmpty() && available == members.size()
+                : available > 0;
+    }
+
+    @Transactional
+    public void releaseHold(String username, String token) {
+        SlotHold hold = slotHoldRepository.findByToken(token)
+                .orElseThrow(() -> new ResourceNotFoundException("Hold not found"));
+        if (!hold.getHostId().equals(hostDirectory.require(username).id())) {
+            throw new ResourceNotFoundException("Hold not found");
+        }
+        slotHoldRepository.delete(hold);
+        eventPublisher.publishEvent(ScheduleChangedEvent.holdsChanged(hold.getHostId()));
+    }
+
+    /**
+     * Check that no other guest holds the requested time or its buffers and consume
+     * the caller's own hold, if any. Must run inside the booking transaction.
+     * The in-memory view rejects known conflicts without a query; slot_holds is
+     * checked as well, since a hold placed on another node may not have reached it yet.
+     */
+    public void consumeHold(Long hostId, EventType eventType, String token, LocalDateTime startTime) {
+        if (!slotGenerationService.isHoldFree(hostId, eventType, startTime, token)
+                || slotHoldRepository.existsOverlapping(hostId,
+                        startTime.minusMinutes(eventType.getBufferBefore()),
+                        startTime.plusMinutes(eventType.getDurationMinutes() + eventType.getBufferAfter()),
+                        token == null ? "" : token, LocalDateTime.now(ZoneOffset.UTC))) {
+            throw new ConflictException("This time slot is being booked by someone else. Please choose another.");
+        }
+        if (token == null) {
+            return;
+        }
+        slotHoldRepository.findByToken(token)
+                .filter(hold -> hold.getHostId().equals(hostId))
+                .ifPresent(hold -> {
+                    slotHoldRepository.delete(hold);
+                    eventPublisher.publishEvent(ScheduleChangedEvent.holdsChanged(hostId));
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${app.holds.purge-interval-ms:60000}")
+    @Transactional
+    public void purgeExpiredHolds() {
+        int purged = slotHoldRepository.deleteExpired(LocalDateTime.now(ZoneOffset.UTC));
+        if (purged > 0) {
+            log.debug("Purged {} expired slot holds", purged);
+        }
+    }
+
+    private SlotHoldDto toDto(SlotHold hold) {
+        return SlotHoldDto.builder()
+                .token(hold.getToken())
+                .eventTypeId(hold.getEventTypeId())
+                .startTime(hold.getStartTime())
+                .endTime(hold.getEndTime())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.schedulr.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schedulr.dto.booking.TimeSlotDto;
+import com.schedulr.exception.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams the available slots of a date range as NDJSON, one
+ * {@code {"date": ..., "slots": [...]}} line per day in the guest's zone, including
+ * days without slots. Each line is flushed as soon as its day is complete, so a
+ * client can render the first week while later weeks are still being computed.
+ */
+@Service
+@Slf4j
+public class SlotStreamService {
+
+    private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
+    private final int maxRangeDays;
+
+    public SlotStreamService(BookingService bookingService,
+            ObjectMapper objectMapper,
+            @Value("${app.slots.max-range-days:90}") int maxRangeDays) {
+        this.bookingService = bookingService;
+        this.objectMapper = objectMapper;
+        this.maxRangeDays = maxRangeDays;
+    }
+
+    public void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new BadRequestException("Date range must not exceed " + maxRangeDays + " days");
+        }
+    }
+
+    /**
+     * Write the slots of [from, to] to {@code out}. The stream is flushed but not closed.
+     */
+    public void stream(BookingService.SlotQuery query, LocalDate from, LocalDate to, OutputStream out)
+            throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8 * 1024));
+        // Lines end with their own newline so a client can parse each one on arrival
+        generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+        DayWriter days = new DayWriter(generator, from);
+        long started = System.currentTimeMillis();
+        try {
+            bookingService.forEachAvailableSlot(query, from, to, days::add);
+            days.finishThrough(to);
+        } catch (UncheckedIOException e) {
+            // Typically the client went away mid-stream
+            throw e.getCause();
+        }
+        generator.flush();
+        log.debug("Streamed {} slots for event type {} from {} to {} in {} ms", days.slotCount,
+                query.eventType().getId(), from, to, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Groups slots, which arrive in start order, into one line per day.
+     */
+    private static final class DayWriter {
+
+        private final JsonGenerator generator;
+        private final List<TimeSlotDto> slots = new ArrayList<>();
+        private LocalDate day;
+        private long slotCount;
+
+        DayWriter(JsonGenerator generator, LocalDate from) {
+            this.generator = generator;
+            this.day = from;
+        }
+
+        boolean add(TimeSlotDto slot) {
+            try {
+                LocalDate slotDay = slot.getStartTime().toLocalDate();
+                if (slotDay.isAfter(day)) {
+                    finishThrough(slotDay.minusDays(1));
+                }
+                slots.add(slot);
+                slotCount++;
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /** Write the current day and any empty days up to and including {@code last}. */
+        void finishThrough(LocalDate last) throws IOException {
+            for (; !day.isAfter(last); day = day.plusDays(1)) {
+                generator.writeStartObject();
+                generator.writeStringField("date", day.toString());
+                generator.writeArrayFieldStart("slots");
+                for (TimeSlotDto slot : slots) {
+                    generator.writeObject(slot);
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                slots.clear();
+            }
+            generator.flush();
+        }
+    }
+}
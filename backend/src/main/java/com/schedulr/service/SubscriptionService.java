@@ -2,10 +2,12 @@ package com.schedulr.service;
 
 import com.schedulr.entity.Subscription;
 import com.schedulr.entity.User;
+import com.schedulr.event.AccountChangedEvent;
 import com.schedulr.exception.ResourceNotFoundException;
 import com.schedulr.repository.SubscriptionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,10 +20,11 @@ public class SubscriptionService {
 
     private final SubscriptionRepository subscriptionRepository;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Subscription getMySubscription() {
-        User user = userService.getCurrentUser();
-        return subscriptionRepository.findByUserId(user.getId())
+        Long userId = userService.getCurrentUserId();
+        return subscriptionRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Subscription not found"));
     }
 
@@ -38,6 +41,7 @@ public class SubscriptionService {
         User user = userService.getCurrentUser();
         Subscription subscription = subscriptionRepository.findByUserId(user.getId())
                 .orElse(Subscription.builder().user(user).build());
+        String previousPlan = subscription.getId() != null ? subscription.getPlan() : null;
 
         subscription.setPlan(plan.toUpperCase());
         subscription.setStatus("ACTIVE");
@@ -47,6 +51,8 @@ public class SubscriptionService {
         }
 
         log.info("Subscription upgraded to {} for user: {}", plan, user.getEmail());
-        return subscriptionRepository.save(subscription);
+        subscription = subscriptionRepository.save(subscription);
+        eventPublisher.publishEvent(AccountChangedEvent.planChanged(previousPlan, subscription.getPlan()));
+        return subscription;
     }
 }
@@ -0,0 +1,59 @@
+package com.schedulr.service;
+
+import com.schedulr.entity.User;
+import com.schedulr.exception.BadRequestException;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Time zone helpers for the public booking flow. Booking times are stored as UTC
+ * wall-clock values; guests send and receive times in their own zone.
+ */
+public final class TimeZones {
+
+    private TimeZones() {
+    }
+
+    /**
+     * The host's zone, or UTC if the stored zone id is missing or unknown.
+     */
+    public static ZoneId hostZone(User host) {
+        return hostZone(host.getTimezone());
+    }
+
+    /**
+     * A host's stored zone id as a zone, or UTC if it is missing or unknown.
+     */
+    public static ZoneId hostZone(String timezone) {
+        try {
+            return timezone != null ? ZoneId.of(timezone) : ZoneOffset.UTC;
+        } catch (DateTimeException e) {
+            return ZoneOffset.UTC;
+        }
+    }
+
+    /**
+     * Parse a zone id sent by a client, falling back to {@code fallback} when none was sent.
+     */
+    public static ZoneId parse(String zoneId, ZoneId fallback) {
+        if (zoneId == null || zoneId.isBlank()) {
+            return fallback;
+        }
+        try {
+            return ZoneId.of(zoneId.trim());
+        } catch (DateTimeException e) {
+            throw new BadRequestException("Unknown time zone: " + zoneId);
+        }
+    }
+
+    /**
+     * Convert a wall-clock time in {@code zone} to UTC wall-clock. Times in a DST
+     * overlap resolve to the earlier offset; times in a gap move forward by its length.
+     */
+    public static LocalDateTime toUtc(LocalDateTime local, ZoneId zone) {
+        return local.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+}
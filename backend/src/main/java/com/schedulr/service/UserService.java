@@ -1,31 +1,69 @@
 package com.schedulr.service;
 
+import com.schedulr.cache.HostDirectory;
 import com.schedulr.dto.user.UpdateProfileRequest;
 import com.schedulr.dto.user.UserDto;
 import com.schedulr.entity.User;
+import com.schedulr.event.AccountChangedEvent;
+import com.schedulr.event.ScheduleChangedEvent;
 import com.schedulr.exception.ConflictException;
 import com.schedulr.exception.ResourceNotFoundException;
 import com.schedulr.repository.UserRepository;
+import com.schedulr.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserService {
 
+    private static final String CURRENT_USER_ATTRIBUTE = UserService.class.getName() + ".currentUser";
+
     private final UserRepository userRepository;
+    private final HostDirectory hostDirectory;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Load the authenticated user. The entity is cached for the rest of the
+     * request, so a request runs at most one user query however often this is called.
+     */
     public User getCurrentUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            User cached = (User) request.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User user = (authentication.getPrincipal() instanceof UserPrincipal principal
+                ? userRepository.findById(principal.id())
+                : userRepository.findByEmail(authentication.getName()))
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (request != null) {
+            request.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    /**
+     * Id of the authenticated user, taken from the token without a query.
+     */
+    public Long getCurrentUserId() {
+        if (SecurityContextHolder.getContext().getAuthentication().getPrincipal() instanceof UserPrincipal principal) {
+            return principal.id();
+        }
+        return getCurrentUser().getId();
     }
 
     public UserDto getCurrentUserDto() {
@@ -39,33 +77,42 @@ public class UserService {
                 userRepository.existsByUsername(request.getUsername())) {
             throw new ConflictException("Username already taken: " + request.getUsername());
         }
+        String previousName = user.getName();
+        String previousUsername = user.getUsername();
+        String previousTimezone = user.getTimezone();
         user.setName(request.getName());
         user.setUsername(request.getUsername().toLowerCase());
         if (request.getTimezone() != null) {
             user.setTimezone(request.getTimezone());
         }
         user = userRepository.save(user);
+        if (!user.getUsername().equals(previousUsername) || !Objects.equals(user.getTimezone(), previousTimezone)
+                || !Objects.equals(user.getName(), previousName)) {
+            // Drops cached username lookups on every node and re-renders the public pages
+            eventPublisher.publishEvent(ScheduleChangedEvent.profileChanged(user.getId()));
+        }
         log.info("Profile updated for user: {}", user.getEmail());
         return toDto(user);
     }
 
     public UserDto getUserByUsername(String username) {
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findById(hostDirectory.require(username).id())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
         return toDto(user);
     }
 
     // Admin
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream().map(this::toDto).collect(Collectors.toList());
-    }
-
     @Transactional
     public UserDto toggleUserActive(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
         user.setActive(!user.getActive());
-        return toDto(userRepository.save(user));
+        user = userRepository.save(user);
+        // UserStatusCache drops the cached flag after commit
+        eventPublisher.publishEvent(AccountChangedEvent.userActiveChanged(user.getEmail(), user.getActive()));
+        // The host's public pages and the teams it belongs to change too
+        eventPublisher.publishEvent(ScheduleChangedEvent.profileChanged(user.getId()));
+        return toDto(user);
     }
 
     public UserDto toDto(User user) {
@@ -0,0 +1,77 @@
+package com.schedulr.cache;
+
+import com.schedulr.event.AccountChangedEvent;
+import com.schedulr.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HostDirectoryTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final HostDirectory directory = new HostDirectory(userRepository, 60_000, 60_000, 100, 10);
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findHostByUsername(anyString())).thenReturn(Optional.empty());
+        when(userRepository.findHostByUsername("alice")).thenReturn(Optional.of(new UserRepository.HostView() {
+            @Override
+            public Long getId() {
+                return 1L;
+            }
+
+            @Override
+            public String getTimezone() {
+                return "Europe/Berlin";
+            }
+        }));
+    }
+
+    @Test
+    void probingUnknownNamesKeepsKnownHostsCached() {
+        assertThat(directory.find("alice")).contains(new HostDirectory.Host(1L, "Europe/Berlin"));
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(directory.find("nobody" + i)).isEmpty();
+        }
+
+        assertThat(directory.find("alice")).isPresent();
+        verify(userRepository, times(1)).findHostByUsername("alice");
+    }
+
+    @Test
+    void theOldestUnknownNamesAreDroppedFirst() {
+        for (int i = 0; i < 11; i++) {
+            directory.find("nobody" + i);
+        }
+
+        directory.find("nobody10");
+        directory.find("nobody1");
+        directory.find("nobody0");
+
+        verify(userRepository, times(1)).findHostByUsername("nobody10");
+        verify(userRepository, times(1)).findHostByUsername("nobody1");
+        verify(userRepository, times(2)).findHostByUsername("nobody0");
+    }
+
+    @Test
+    void newUsersAreFoundRightAway() {
+        directory.find("alice");
+        directory.find("bob");
+
+        directory.onAccountChanged(AccountChangedEvent.userCreated());
+        directory.find("alice");
+        directory.find("bob");
+
+        verify(userRepository, times(1)).findHostByUsername("alice");
+        verify(userRepository, times(2)).findHostByUsername("bob");
+    }
+}
@@ -0,0 +1,46 @@
+package com.schedulr.cache;
+
+import com.schedulr.entity.Booking;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HostScheduleCacheTest {
+
+    private final HostScheduleCache cache = new HostScheduleCache(10, 30);
+
+    @Test
+    void cachesOnlyDaysWithinTheHorizon() {
+        LocalDate today = LocalDate.now();
+        HostScheduleCache.HostSchedule schedule = cache.get(1L);
+
+        schedule.installDays(today.minusDays(10), today.plusDays(400), List.of(), schedule.version());
+
+        assertThat(schedule.firstMissingDay(today.minusDays(1), today.plusDays(30))).isNull();
+        assertThat(schedule.firstMissingDay(today.minusDays(10), today)).isEqualTo(today.minusDays(10));
+        assertThat(schedule.firstMissingDay(today, today.plusDays(400))).isEqualTo(today.plusDays(31));
+    }
+
+    @Test
+    void coversOnlyRangesWithinTheHorizon() {
+        LocalDate today = LocalDate.now();
+
+        assertThat(cache.covers(today.minusDays(1), today.plusDays(30))).isTrue();
+        assertThat(cache.covers(today, today.plusDays(31))).isFalse();
+        assertThat(cache.covers(today.minusDays(2), today)).isFalse();
+    }
+
+    @Test
+    void installingBeyondTheHorizonIsANoOp() {
+        LocalDate today = LocalDate.now();
+        HostScheduleCache.HostSchedule schedule = cache.get(1L);
+        List<Booking> none = List.of();
+
+        schedule.installDays(today.plusDays(100), today.plusDays(200), none, schedule.version());
+
+        assertThat(schedule.busyIntervals(today.plusDays(100), today.plusDays(100))).isNull();
+    }
+}
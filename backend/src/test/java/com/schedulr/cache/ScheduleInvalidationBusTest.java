@@ -0,0 +1,149 @@
+package com.schedulr.cache;
+
+import com.schedulr.event.ScheduleChangedEvent;
+import com.schedulr.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Two nodes sharing a channel: whatever node A publishes is handed to node B as
+ * Postgres would deliver it. The listener threads are never started.
+ */
+class ScheduleInvalidationBusTest {
+
+    private final JdbcTemplate jdbcA = mock(JdbcTemplate.class);
+    private final HostScopedCache cacheA = mock(HostScopedCache.class);
+    private final HostScopedCache otherCacheB = mock(HostScopedCache.class);
+    private final HostScheduleCache scheduleB = new HostScheduleCache(10, 30);
+    private final ScheduleVersions versionsB = new ScheduleVersions(mock(UserRepository.class), 10);
+
+    private ScheduleInvalidationBus nodeA;
+    private ScheduleInvalidationBus nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new ScheduleInvalidationBus(jdbcA, new DataSourceProperties(),
+                new StaticListableBeanFactory(Map.of("cache", cacheA)).getBeanProvider(HostScopedCache.class),
+                mock(ScheduleVersions.class));
+        nodeB = new ScheduleInvalidationBus(mock(JdbcTemplate.class), new DataSourceProperties(),
+                new StaticListableBeanFactory(Map.of("schedule", scheduleB, "other", otherCacheB))
+                        .getBeanProvider(HostScopedCache.class), versionsB);
+    }
+
+    @Test
+    void remoteBookingMarksTheDayBusyInsteadOfEvictingTheHost() {
+        LocalDate day = LocalDate.now().plusDays(2);
+        HostScheduleCache.HostSchedule schedule = scheduleB.get(1L);
+        schedule.installDays(day, day, List.of(), schedule.version());
+        LocalDateTime start = day.atTime(10, 0);
+
+        ScheduleChangedEvent event = ScheduleChangedEvent.bookingCreated(1L, start, start.plusMinutes(30));
+        nodeB.handle(publish(event));
+
+        assertThat(scheduleB.get(1L)).isSameAs(schedule);
+        assertThat(schedule.busyIntervals(day, day)).isNotNull().isNotEmpty();
+        verify(otherCacheB).onScheduleChanged(event);
+        verify(otherCacheB, never()).evictHost(any());
+    }
+
+    @Test
+    void remoteCancellationDropsOnlyTheAffectedDays() {
+        LocalDate day = LocalDate.now().plusDays(2);
+        HostScheduleCache.HostSchedule schedule = scheduleB.get(1L);
+        schedule.installDays(day, day.plusDays(1), List.of(), schedule.version());
+        LocalDateTime start = day.atTime(10, 0);
+
+        nodeB.handle(publish(ScheduleChangedEvent.bookingCancelled(1L, start, start.plusMinutes(30))));
+
+        assertThat(schedule.firstMissingDay(day, day.plusDays(1))).isEqualTo(day);
+        assertThat(schedule.busyIntervals(day.plusDays(1), day.plusDays(1))).isNotNull();
+    }
+
+    @Test
+    void everyKindSurvivesTheRoundTrip() {
+        LocalDateTime start = LocalDateTime.of(2030, 3, 10, 6, 30);
+        List<ScheduleChangedEvent> events = List.of(
+                ScheduleChangedEvent.bookingCreated(7L, start, start.plusHours(1)),
+                ScheduleChangedEvent.bookingCancelled(7L, start, start.plusHours(1)),
+                ScheduleChangedEvent.availabilityChanged(7L),
+                ScheduleChangedEvent.eventTypeChanged(7L),
+                ScheduleChangedEvent.holdsChanged(7L),
+                ScheduleChangedEvent.profileChanged(7L));
+
+        for (ScheduleChangedEvent event : events) {
+            nodeB.handle(ScheduleInvalidationBus.encode("node-a", event));
+
+            verify(otherCacheB).onScheduleChanged(event);
+        }
+        verify(otherCacheB, never()).evictHost(any());
+    }
+
+    @Test
+    void remoteChangesMoveTheHostsVersion() {
+        long version = versionsB.version(1L);
+        String epoch = versionsB.epoch();
+
+        nodeB.handle(publish(ScheduleChangedEvent.availabilityChanged(1L)));
+        long afterChange = versionsB.version(1L);
+        nodeB.handle("node-a:1:SOMETHING_NEW");
+
+        assertThat(afterChange).isGreaterThan(version);
+        assertThat(versionsB.version(1L)).isGreaterThan(afterChange);
+        assertThat(versionsB.version(2L)).isZero();
+        assertThat(versionsB.epoch()).isEqualTo(epoch);
+    }
+
+    @Test
+    void ignoresItsOwnNotifications() {
+        nodeA.handle(publish(ScheduleChangedEvent.holdsChanged(1L)));
+
+        verifyNoInteractions(cacheA);
+    }
+
+    @Test
+    void evictsTheHostWhenThePayloadCannotBeRead() {
+        nodeB.handle("node-a:5");
+        nodeB.handle("node-a:6:SOMETHING_NEW");
+        nodeB.handle("node-a:7:BOOKING_CREATED");
+
+        verify(otherCacheB).evictHost(5L);
+        verify(otherCacheB).evictHost(6L);
+        verify(otherCacheB).evictHost(7L);
+        verify(otherCacheB, never()).onScheduleChanged(any());
+    }
+
+    @Test
+    void ignoresPayloadsWithoutAHost() {
+        nodeB.handle("node-a:not-a-host:HOLDS_CHANGED");
+        nodeB.handle("node-a");
+
+        verifyNoInteractions(otherCacheB);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String publish(ScheduleChangedEvent event) {
+        nodeA.onScheduleChanged(event);
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcA).query(eq("SELECT pg_notify(?, ?)"), any(ResultSetExtractor.class), eq(ScheduleInvalidationBus.CHANNEL),
+                args.capture());
+        return (String) args.getValue();
+    }
+}
@@ -0,0 +1,146 @@
+package com.schedulr.cache;
+
+import com.schedulr.SchedulrApplication;
+import com.schedulr.dto.availability.AvailabilityRequest;
+import com.schedulr.dto.user.UpdateProfileRequest;
+import com.schedulr.entity.User;
+import com.schedulr.repository.UserRepository;
+import com.schedulr.service.AvailabilityService;
+import com.schedulr.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application contexts sharing one Postgres, as two nodes behind a load
+ * balancer would: a change made through node A must reach node B's caches over
+ * the real pg_notify and LISTEN connection.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ScheduleInvalidationClusterIT {
+
+    private static final long PROPAGATION_TIMEOUT_MS = 10_000;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    private User host;
+
+    @BeforeAll
+    static void startNodes() {
+        // One after the other, so only the first runs Hibernate's schema update on an empty database
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(SchedulrApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                "--spring.datasource.username=" + POSTGRES.getUsername(),
+                "--spring.datasource.password=" + POSTGRES.getPassword());
+    }
+
+    @BeforeEach
+    void setUp() {
+        String name = "cluster" + System.nanoTime();
+        host = nodeA.getBean(UserRepository.class).save(User.builder().name("Cluster host")
+                .email(name + "@example.com").password("x").username(name).timezone("UTC").build());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(host.getEmail(), null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void availabilityChangedOnOneNodeDropsTheOtherNodesSchedules() {
+        HostScheduleCache.HostSchedule schedule = nodeB.getBean(HostScheduleCache.class).get(host.getId());
+        schedule.installRules(HostScheduleCache.toRuleWindows(List.of()), schedule.version());
+        AtomicInteger slotLoads = new AtomicInteger();
+        SlotResultCache.Key key = new SlotResultCache.Key(host.getUsername(), 1L, LocalDate.now().plusDays(1), "UTC");
+        loadSlots(key, slotLoads);
+        long version = nodeB.getBean(ScheduleVersions.class).version(host.getId());
+
+        AvailabilityRequest rule = new AvailabilityRequest();
+        rule.setDayOfWeek("MONDAY");
+        rule.setStartTime(LocalTime.of(9, 0));
+        rule.setEndTime(LocalTime.of(17, 0));
+        nodeA.getBean(AvailabilityService.class).saveAvailability(List.of(rule));
+
+        awaitOnNodeB("the rule windows to be dropped", () -> schedule.ruleWindows() == null);
+        awaitOnNodeB("the slot results to be dropped", () -> {
+            loadSlots(key, slotLoads);
+            return slotLoads.get() == 2;
+        });
+        awaitOnNodeB("the schedule version to move",
+                () -> nodeB.getBean(ScheduleVersions.class).version(host.getId()) > version);
+    }
+
+    @Test
+    void usernameChangedOnOneNodeIsNoLongerResolvedByTheOther() {
+        HostDirectory directory = nodeB.getBean(HostDirectory.class);
+        assertThat(directory.find(host.getUsername())).isPresent();
+
+        UpdateProfileRequest profile = new UpdateProfileRequest();
+        profile.setName(host.getName());
+        profile.setUsername(host.getUsername() + "x");
+        nodeA.getBean(UserService.class).updateProfile(profile);
+
+        awaitOnNodeB("the old username to be dropped", () -> directory.find(host.getUsername()).isEmpty());
+        assertThat(directory.find(host.getUsername() + "x")).map(HostDirectory.Host::id).contains(host.getId());
+    }
+
+    private void loadSlots(SlotResultCache.Key key, AtomicInteger loads) {
+        nodeB.getBean(SlotResultCache.class).get(key, () -> {
+            loads.incrementAndGet();
+            return new SlotResultCache.Result(List.of(), Set.of(host.getId()));
+        });
+    }
+
+    private static void awaitOnNodeB(String description, BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PROPAGATION_TIMEOUT_MS);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("waited for " + description).isNegative();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError("interrupted while waiting for " + description);
+            }
+        }
+    }
+}
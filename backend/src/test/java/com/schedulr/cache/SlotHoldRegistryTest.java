@@ -0,0 +1,95 @@
+package com.schedulr.cache;
+
+import com.schedulr.entity.SlotHold;
+import com.schedulr.repository.SlotHoldRepository;
+import com.schedulr.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SlotHoldRegistryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 5, 6, 14, 0);
+
+    private final SlotHoldRepository slotHoldRepository = mock(SlotHoldRepository.class);
+    private final ScheduleVersions scheduleVersions = new ScheduleVersions(mock(UserRepository.class), 10);
+    private final SlotHoldRegistry registry = new SlotHoldRegistry(slotHoldRepository, scheduleVersions);
+    private final TimeZone defaultZone = TimeZone.getDefault();
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+        TimeZone.setDefault(defaultZone);
+    }
+
+    private static SlotHold hold(String token, LocalDateTime expiresAt) {
+        return SlotHold.builder().hostId(1L).eventTypeId(2L).token(token).startTime(START)
+                .endTime(START.plusMinutes(30)).expiresAt(expiresAt).build();
+    }
+
+    @Test
+    void expiryIsReadAsUtcWhateverTheServerZone() {
+        // Ahead of UTC, reading the stored time as local time would make the hold look expired
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+        when(slotHoldRepository.findActiveByHostId(eq(1L), any()))
+                .thenReturn(List.of(hold("a", LocalDateTime.now(ZoneOffset.UTC).plusMinutes(5))));
+
+        assertThat(registry.heldIntervals(1L, null))
+                .containsExactly(START.toEpochSecond(ZoneOffset.UTC),
+                        START.plusMinutes(30).toEpochSecond(ZoneOffset.UTC));
+    }
+
+    @Test
+    void aLoadThatRacedWithAnEvictionIsNotKept() {
+        when(slotHoldRepository.findActiveByHostId(eq(1L), any())).thenAnswer(invocation -> {
+            // A hold is released on another node while this node is still reading
+            registry.evictHost(1L);
+            return List.of(hold("a", LocalDateTime.now(ZoneOffset.UTC).plusMinutes(5)));
+        });
+
+        registry.heldIntervals(1L, null);
+        registry.heldIntervals(1L, null);
+
+        verify(slotHoldRepository, times(2)).findActiveByHostId(eq(1L), any());
+    }
+
+    @Test
+    void anExpiredHoldMovesTheHostsVersion() throws InterruptedException {
+        when(slotHoldRepository.findActiveByHostId(eq(1L), any()))
+                .thenReturn(List.of(hold("a", LocalDateTime.now(ZoneOffset.UTC).plusSeconds(1))));
+        assertThat(registry.heldIntervals(1L, null)).hasSize(2);
+        long version = scheduleVersions.version(1L);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (scheduleVersions.version(1L) == version && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(scheduleVersions.version(1L)).isGreaterThan(version);
+        assertThat(registry.heldIntervals(1L, null)).isEmpty();
+    }
+
+    @Test
+    void loadedHoldsAreReusedUntilEvicted() {
+        when(slotHoldRepository.findActiveByHostId(eq(1L), any())).thenReturn(List.of());
+
+        registry.heldIntervals(1L, null);
+        registry.heldIntervals(1L, "a");
+        registry.evictHost(1L);
+        registry.heldIntervals(1L, null);
+
+        verify(slotHoldRepository, times(2)).findActiveByHostId(eq(1L), any());
+    }
+}
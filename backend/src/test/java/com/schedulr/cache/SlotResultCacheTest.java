@@ -0,0 +1,160 @@
+package com.schedulr.cache;
+
+import com.schedulr.dto.booking.TimeSlotDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SlotResultCacheTest {
+
+    private static final SlotResultCache.Key KEY =
+            new SlotResultCache.Key("alice", 1L, LocalDate.of(2026, 3, 2), "UTC");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SlotResultCache cache = new SlotResultCache(60_000, 100, meterRegistry);
+
+    @Test
+    void sharesOneLoadAndCachesTheResult() {
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            cache.get(KEY, () -> {
+                loads.incrementAndGet();
+                return new SlotResultCache.Result(List.of(), Set.of(7L));
+            });
+        }
+        assertThat(loads).hasValue(1);
+
+        cache.evictHost(7L);
+        cache.get(KEY, () -> {
+            loads.incrementAndGet();
+            return new SlotResultCache.Result(List.of(), Set.of(7L));
+        });
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void manyConcurrentCallersShareOneLoadPerTtl() throws Exception {
+        int threads = 32;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<TimeSlotDto> computed = List.of(new TimeSlotDto());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<TimeSlotDto>>> callers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                callers.add(executor.submit(() -> {
+                    await(start);
+                    return cache.get(KEY, () -> {
+                        loads.incrementAndGet();
+                        sleep(50);
+                        return new SlotResultCache.Result(computed, Set.of(7L));
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<List<TimeSlotDto>> caller : callers) {
+                assertThat(caller.get(5, TimeUnit.SECONDS)).isSameAs(computed);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(hits()).isEqualTo(threads - 1);
+    }
+
+    @Test
+    void evictingAnotherHostDuringALoadKeepsItsResult() {
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            cache.get(KEY, () -> {
+                loads.incrementAndGet();
+                cache.evictHost(8L);
+                return new SlotResultCache.Result(List.of(), Set.of(7L));
+            });
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void evictingTheHostDuringALoadDiscardsItsResult() {
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            cache.get(KEY, () -> {
+                if (loads.incrementAndGet() == 1) {
+                    cache.evictHost(7L);
+                }
+                return new SlotResultCache.Result(List.of(), Set.of(7L));
+            });
+        }
+        assertThat(loads).hasValue(2);
+
+        cache.get(KEY, () -> {
+            throw new AssertionError("should have been cached");
+        });
+    }
+
+    @Test
+    void errorFromTheLoaderReleasesWaitersAndIsNotCached() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<TimeSlotDto>> owner = executor.submit(() -> cache.get(KEY, () -> {
+                loading.countDown();
+                await(release);
+                throw new OutOfMemoryError("simulated");
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<List<TimeSlotDto>> waiter = executor.submit(() -> cache.get(KEY, () -> {
+                throw new AssertionError("should have joined the in-flight load");
+            }));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (hits() < 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertThatThrownBy(() -> owner.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(OutOfMemoryError.class);
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(OutOfMemoryError.class);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<TimeSlotDto> slots = cache.get(KEY, () -> new SlotResultCache.Result(List.of(), Set.of()));
+        assertThat(slots).isEmpty();
+    }
+
+    private double hits() {
+        return meterRegistry.get("slots.cache.requests").tag("result", "hit").counter().count();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.schedulr.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Property tests against {@link ZoneRules}, concentrated around DST gaps and
+ * overlaps, both inside the precomputed tables and beyond their horizon.
+ */
+class ZoneTransitionsTest {
+
+    private static final List<ZoneId> ZONES = List.of(
+            ZoneId.of("America/New_York"), ZoneId.of("Europe/London"), ZoneId.of("Australia/Lord_Howe"),
+            ZoneId.of("America/Santiago"), ZoneId.of("Asia/Kolkata"), ZoneId.of("Pacific/Apia"), ZoneOffset.UTC);
+    private static final long FROM = LocalDateTime.of(1990, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final long TO = LocalDateTime.of(2060, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+    private final Random random = new Random(20260308L);
+
+    @Test
+    void offsetsMatchTheZoneRules() {
+        for (ZoneId zone : ZONES) {
+            ZoneTransitions transitions = ZoneTransitions.of(zone);
+            for (long epoch : samples(zone)) {
+                assertThat(transitions.offsetAt(epoch))
+                        .as("%s at %s", zone, Instant.ofEpochSecond(epoch))
+                        .isEqualTo(zone.getRules().getOffset(Instant.ofEpochSecond(epoch)).getTotalSeconds());
+            }
+        }
+    }
+
+    @Test
+    void localTimesInAGapDoNotExistAndOverlapsResolveToTheEarlierOccurrence() {
+        for (ZoneId zone : ZONES) {
+            ZoneTransitions transitions = ZoneTransitions.of(zone);
+            ZoneRules rules = zone.getRules();
+            for (long sample : samples(zone)) {
+                LocalDateTime local = LocalDateTime.ofEpochSecond(sample, 0, ZoneOffset.UTC);
+                List<ZoneOffset> valid = rules.getValidOffsets(local);
+                long expected = valid.isEmpty()
+                        ? ZoneTransitions.NONEXISTENT
+                        : sample - valid.get(0).getTotalSeconds();
+
+                assertThat(transitions.toEpochSecond(sample)).as("%s at local %s", zone, local).isEqualTo(expected);
+                if (valid.size() == 2) {
+                    assertThat(expected).isLessThan(sample - valid.get(1).getTotalSeconds());
+                }
+            }
+        }
+    }
+
+    @Test
+    void lenientConversionAgreesWithZonedDateTime() {
+        for (ZoneId zone : ZONES) {
+            ZoneTransitions transitions = ZoneTransitions.of(zone);
+            for (long sample : samples(zone)) {
+                LocalDateTime local = LocalDateTime.ofEpochSecond(sample, 0, ZoneOffset.UTC);
+                assertThat(transitions.toEpochSecondLenient(sample))
+                        .as("%s at local %s", zone, local)
+                        .isEqualTo(local.atZone(zone).toEpochSecond());
+            }
+        }
+    }
+
+    @Test
+    void everyInstantRoundTripsThroughItsLocalTime() {
+        for (ZoneId zone : ZONES) {
+            ZoneTransitions transitions = ZoneTransitions.of(zone);
+            ZoneRules rules = zone.getRules();
+            for (long epoch : samples(zone)) {
+                long local = epoch + transitions.offsetAt(epoch);
+                long back = transitions.toEpochSecond(local);
+                boolean repeated = rules.getValidOffsets(LocalDateTime.ofEpochSecond(local, 0, ZoneOffset.UTC))
+                        .size() == 2;
+
+                // A repeated local time maps back to its first occurrence, which may be this instant
+                if (repeated) {
+                    assertThat(back).as("%s at %s", zone, Instant.ofEpochSecond(epoch)).isLessThanOrEqualTo(epoch);
+                } else {
+                    assertThat(back).as("%s at %s", zone, Instant.ofEpochSecond(epoch)).isEqualTo(epoch);
+                }
+            }
+        }
+    }
+
+    /**
+     * Random times across the range, plus times within an hour either side of every
+     * transition in it, read both as epoch seconds and as local seconds.
+     */
+    private List<Long> samples(ZoneId zone) {
+        List<Long> samples = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            samples.add(FROM + (long) (random.nextDouble() * (TO - FROM)));
+        }
+        ZoneRules rules = zone.getRules();
+        ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochSecond(FROM));
+        while (transition != null && transition.toEpochSecond() < TO) {
+            long epoch = transition.toEpochSecond();
+            long local = transition.getDateTimeBefore().toEpochSecond(ZoneOffset.UTC);
+            for (long delta : new long[] {-3600, -1, 0, 1, 1799, 1800, 3599, 3600}) {
+                samples.add(epoch + delta);
+                samples.add(local + delta);
+            }
+            samples.add(epoch + random.nextInt(7201) - 3600);
+            samples.add(local + random.nextInt(7201) - 3600);
+            transition = rules.nextTransition(transition.getInstant());
+        }
+        return samples;
+    }
+}
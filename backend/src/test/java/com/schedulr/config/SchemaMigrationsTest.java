@@ -0,0 +1,80 @@
+package com.schedulr.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SchemaMigrationsTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SchemaMigrations migrations = new SchemaMigrations(jdbcTemplate);
+
+    @Test
+    void failedBookingConstraintStopsStartupBeforeTheOldIndexIsDropped() {
+        doThrow(new DataIntegrityViolationException("could not create exclusion constraint \"bookings_no_overlap\""))
+                .when(jdbcTemplate).execute(contains("ADD CONSTRAINT bookings_no_overlap"));
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of(Map.of("booking_id", 1L, "overlapping_id", 2L)));
+
+        assertThatThrownBy(() -> migrations.afterPropertiesSet())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("bookings_no_overlap");
+
+        // The conflicting rows are listed, and the index that still guards exact duplicates is kept
+        verify(jdbcTemplate).queryForList(contains("FROM bookings a"));
+        verify(jdbcTemplate, never()).execute(contains("DROP INDEX IF EXISTS idx_bookings_no_overlap"));
+    }
+
+    @Test
+    void oldIndexIsDroppedOnlyOnceTheConstraintExists() {
+        migrations.afterPropertiesSet();
+
+        verify(jdbcTemplate).execute(argThat((String sql) -> sql.contains("DROP INDEX IF EXISTS idx_bookings_no_overlap")
+                && sql.contains("IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'bookings_no_overlap')")));
+    }
+
+    @Test
+    void failedOptionalMigrationIsOnlyLogged() {
+        doThrow(new BadSqlGrammarException("index", "CREATE INDEX", new SQLException("out of disk")))
+                .when(jdbcTemplate).execute(contains("idx_bookings_host_start_id"));
+
+        assertThatCode(() -> migrations.afterPropertiesSet()).doesNotThrowAnyException();
+        verify(jdbcTemplate).execute(contains("DROP INDEX IF EXISTS idx_bookings_host_id"));
+    }
+
+    @Test
+    void bookingTimesAreConvertedOnceFromEachHostsZone() {
+        migrations.afterPropertiesSet();
+
+        verify(jdbcTemplate).execute(argThat((String sql) -> sql.contains("UPDATE bookings b")
+                && sql.contains("AT TIME ZONE z.zone) AT TIME ZONE 'UTC'")
+                && sql.contains("IF NOT EXISTS (SELECT 1 FROM data_migrations WHERE name = 'booking_times_utc')")
+                && sql.contains("INSERT INTO data_migrations")));
+    }
+
+    @Test
+    void failedBookingTimeConversionStopsStartup() {
+        doThrow(new DataIntegrityViolationException("conflicting key value violates exclusion constraint"))
+                .when(jdbcTemplate).execute(contains("UPDATE bookings b"));
+
+        assertThatThrownBy(() -> migrations.afterPropertiesSet())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("booking times to UTC");
+        verify(jdbcTemplate).queryForList(contains("AT TIME ZONE u.timezone"));
+    }
+}
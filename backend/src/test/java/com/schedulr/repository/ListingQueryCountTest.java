@@ -0,0 +1,132 @@
+package com.schedulr.repository;
+
+import com.schedulr.dto.booking.BookingDto;
+import com.schedulr.dto.eventtype.EventTypeDto;
+import com.schedulr.entity.Booking;
+import com.schedulr.entity.EventType;
+import com.schedulr.entity.Team;
+import com.schedulr.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The booking and event type listings behind the dashboard and list pages select
+ * their DTOs in one statement, whatever the row count, and load no entities that
+ * could trigger lazy loads.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class ListingQueryCountTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 15, 12, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EventTypeRepository eventTypeRepository;
+
+    private User host(String username) {
+        return entityManager.persist(User.builder().name("Host " + username).email(username + "@example.com")
+                .password("x").username(username).build());
+    }
+
+    /**
+     * A host with {@code count} event types, every other one on a team, and
+     * {@code count} bookings spread over them, half in the past.
+     */
+    private User hostWith(String username, int count) {
+        User host = host(username);
+        Team team = entityManager.persist(Team.builder().name("Team " + username).owner(host).build());
+        for (int i = 0; i < count; i++) {
+            EventType eventType = entityManager.persist(EventType.builder().user(host).name("Event " + i)
+                    .durationMinutes(30).active(i % 3 != 0).team(i % 2 == 0 ? team : null).build());
+            entityManager.persist(Booking.builder().host(host).eventType(eventType).guestName("Guest " + i)
+                    .guestEmail("guest" + i + "@example.com")
+                    .startTime(NOW.plusHours(i - count / 2)).endTime(NOW.plusHours(i - count / 2).plusMinutes(30))
+                    .status(i % 4 == 3 ? "CANCELLED" : "BOOKED").build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return host;
+    }
+
+    private <T> List<T> countingStatements(int expectedStatements, Supplier<List<T>> query) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<T> rows = query.get();
+
+        assertThat(statistics.getPrepareStatementCount()).as("statements").isEqualTo(expectedStatements);
+        assertThat(statistics.getEntityLoadCount()).as("entities loaded").isZero();
+        assertThat(statistics.getCollectionLoadCount()).as("collections loaded").isZero();
+        return rows;
+    }
+
+    @Test
+    void bookingListingsTakeOneStatementWhateverTheRowCount() {
+        for (int count : new int[] {2, 40}) {
+            Long hostId = hostWith("host" + count, count).getId();
+
+            List<BookingDto> first = countingStatements(1,
+                    () -> bookingRepository.findFirstPageByHostId(hostId, Limit.of(100)));
+            assertThat(first).hasSize(count);
+            assertThat(first).allSatisfy(row -> {
+                assertThat(row.getHostName()).isEqualTo("Host host" + count);
+                assertThat(row.getEventTypeName()).startsWith("Event ");
+            });
+
+            BookingDto last = first.get(first.size() - 1);
+            countingStatements(1, () -> bookingRepository.findPageByHostId(hostId, last.getStartTime(), last.getId(),
+                    Limit.of(100)));
+            List<BookingDto> upcoming = countingStatements(1, () -> bookingRepository.findUpcomingPageByHostId(
+                    hostId, NOW, Long.MIN_VALUE, NOW.plusDays(30), Limit.of(100)));
+            assertThat(upcoming).isNotEmpty().allSatisfy(row -> assertThat(row.getStatus()).isEqualTo("BOOKED"));
+            List<BookingDto> past = countingStatements(1, () -> bookingRepository.findPastPageByHostId(
+                    hostId, NOW, Long.MIN_VALUE, Limit.of(100)));
+            assertThat(past).isNotEmpty().allSatisfy(row -> assertThat(row.getStatus()).isNotEqualTo("CANCELLED"));
+        }
+    }
+
+    @Test
+    void eventTypeListingsTakeOneStatementWhateverTheRowCount() {
+        for (int count : new int[] {2, 40}) {
+            Long hostId = hostWith("host" + count, count).getId();
+
+            List<EventTypeDto> all = countingStatements(1, () -> eventTypeRepository.findDtosByUserId(hostId));
+            assertThat(all).hasSize(count);
+            assertThat(all).filteredOn(row -> row.getTeamId() != null).hasSize((count + 1) / 2);
+
+            List<EventTypeDto> active = countingStatements(1, () -> eventTypeRepository.findActiveDtosByUserId(hostId));
+            assertThat(active).isNotEmpty().allSatisfy(row -> assertThat(row.getActive()).isTrue());
+        }
+    }
+
+    @Test
+    void statusCountsTakeOneStatement() {
+        hostWith("counted", 40);
+
+        List<Object[]> counts = countingStatements(1, () -> bookingRepository.countGroupedByStatus());
+
+        assertThat(counts).hasSize(2);
+    }
+}
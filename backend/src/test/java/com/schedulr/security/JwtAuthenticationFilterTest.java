@@ -0,0 +1,81 @@
+package com.schedulr.security;
+
+import com.schedulr.entity.User;
+import com.schedulr.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 60_000L);
+        tokenProvider.init();
+        filter = new JwtAuthenticationFilter(tokenProvider,
+                new UserStatusCache(userRepository, 30_000, 100), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static User user(long id, String role, boolean active) {
+        return User.builder().id(id).email("alice@example.com").role(role).active(active).build();
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    void roleComesFromTheCurrentStatusNotTheToken() throws Exception {
+        String token = tokenProvider.generateToken(user(1L, "ADMIN", true));
+        when(userRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(user(1L, "USER", true)));
+
+        Authentication authentication = authenticate(token);
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+        assertThat(((UserPrincipal) authentication.getPrincipal()).role()).isEqualTo("USER");
+    }
+
+    @Test
+    void rejectsDeactivatedUser() throws Exception {
+        String token = tokenProvider.generateToken(user(1L, "USER", true));
+        when(userRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(user(1L, "USER", false)));
+
+        assertThat(authenticate(token)).isNull();
+    }
+
+    @Test
+    void rejectsTokenOfAPreviousAccountWithTheSameEmail() throws Exception {
+        String token = tokenProvider.generateToken(user(1L, "ADMIN", true));
+        when(userRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(user(2L, "USER", true)));
+
+        assertThat(authenticate(token)).isNull();
+    }
+}
@@ -0,0 +1,48 @@
+package com.schedulr.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitInterceptorTest {
+
+    private static MockHttpServletRequest request(String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/public/alice");
+        request.setRemoteAddr("10.0.0.1");
+        if (forwardedFor != null) {
+            request.addHeader(RateLimitInterceptor.X_FORWARDED_FOR, forwardedFor);
+        }
+        return request;
+    }
+
+    private static String clientAddress(int trustedProxies, String forwardedFor) {
+        return new RateLimitInterceptor(null, trustedProxies).clientAddress(request(forwardedFor));
+    }
+
+    @Test
+    void usesRemoteAddressWhenNoProxiesAreTrusted() {
+        assertThat(clientAddress(0, "203.0.113.7")).isEqualTo("10.0.0.1");
+    }
+
+    @Test
+    void usesRemoteAddressWithoutForwardedFor() {
+        assertThat(clientAddress(2, null)).isEqualTo("10.0.0.1");
+    }
+
+    @Test
+    void takesTheEntryAppendedByTheOutermostTrustedProxy() {
+        // client -> nginx (appends 198.51.100.9) -> edge (appends nginx 192.0.2.1)
+        assertThat(clientAddress(2, "198.51.100.9, 192.0.2.1")).isEqualTo("198.51.100.9");
+    }
+
+    @Test
+    void ignoresEntriesSuppliedByTheClient() {
+        assertThat(clientAddress(2, "1.2.3.4, 5.6.7.8, 198.51.100.9, 192.0.2.1")).isEqualTo("198.51.100.9");
+    }
+
+    @Test
+    void fallsBackToLeftmostWhenFewerEntriesThanProxies() {
+        assertThat(clientAddress(2, "198.51.100.9")).isEqualTo("198.51.100.9");
+    }
+}
@@ -0,0 +1,100 @@
+package com.schedulr.security;
+
+import com.schedulr.entity.User;
+import com.schedulr.event.AccountChangedEvent;
+import com.schedulr.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig
+class UserStatusCacheTest {
+
+    private static final String EMAIL = "erin@example.com";
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Config {
+
+        @Bean
+        UserRepository userRepository() {
+            return mock(UserRepository.class);
+        }
+
+        @Bean
+        UserStatusCache userStatusCache(UserRepository userRepository) {
+            return new UserStatusCache(userRepository, 60_000, 100);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new DataSourceTransactionManager(new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+                    .generateUniqueName(true).build());
+        }
+    }
+
+    @Autowired
+    private UserStatusCache cache;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final User user = User.builder().id(6L).email(EMAIL).role("USER").active(true).build();
+
+    @BeforeEach
+    void setUp() {
+        cache.evict(EMAIL);
+        clearInvocations(userRepository);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        cache.get(EMAIL);
+    }
+
+    @Test
+    void deactivationIsDroppedOnlyOnceItHasCommitted() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            user.setActive(false);
+            eventPublisher.publishEvent(AccountChangedEvent.userActiveChanged(EMAIL, false));
+
+            // Until commit the cached entry stays, so nothing re-reads the uncommitted row
+            // and caches the old flag again for a full TTL
+            cache.get(EMAIL);
+            verify(userRepository, times(1)).findByEmail(EMAIL);
+        });
+
+        assertThat(cache.get(EMAIL).active()).isFalse();
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void rolledBackChangesKeepTheEntry() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(AccountChangedEvent.userActiveChanged(EMAIL, false));
+            status.setRollbackOnly();
+        });
+
+        cache.get(EMAIL);
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+}
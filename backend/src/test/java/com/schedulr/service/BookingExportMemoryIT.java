@@ -0,0 +1,171 @@
+package com.schedulr.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports a million bookings from a real Postgres in a JVM whose heap is far
+ * smaller than the result set: the failsafe execution for this class runs it with
+ * -Xmx64m. It only completes if pgjdbc streams the rows through a cursor, which it
+ * does for forward-only statements with a fetch size and autocommit off.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class BookingExportMemoryIT {
+
+    private static final long HOST_ID = 1;
+    private static final int BOOKINGS = 1_000_000;
+    private static final long MAX_HEAP_BYTES = 128L * 1024 * 1024;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final List<String> statements = new ArrayList<>();
+
+    private static DataSource dataSource;
+
+    @BeforeAll
+    static void seed() {
+        dataSource = new RecordingDataSource(new DriverManagerDataSource(POSTGRES.getJdbcUrl(),
+                POSTGRES.getUsername(), POSTGRES.getPassword()));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // Only the columns the export reads
+        jdbcTemplate.execute("""
+                CREATE TABLE event_types (
+                    id BIGINT PRIMARY KEY,
+                    name VARCHAR(255) NOT NULL,
+                    duration_minutes INTEGER NOT NULL
+                )""");
+        jdbcTemplate.execute("""
+                CREATE TABLE bookings (
+                    id BIGINT PRIMARY KEY,
+                    host_id BIGINT NOT NULL,
+                    event_type_id BIGINT NOT NULL REFERENCES event_types(id),
+                    guest_name VARCHAR(255) NOT NULL,
+                    guest_email VARCHAR(255) NOT NULL,
+                    start_time TIMESTAMP NOT NULL,
+                    end_time TIMESTAMP NOT NULL,
+                    status VARCHAR(50) NOT NULL,
+                    notes TEXT,
+                    meeting_link VARCHAR(500),
+                    cancellation_reason TEXT,
+                    created_at TIMESTAMP
+                )""");
+        jdbcTemplate.update("INSERT INTO event_types (id, name, duration_minutes) VALUES (3, 'Intro call', 30)");
+        // About 300 bytes per row, several hundred megabytes once read into Java objects
+        jdbcTemplate.update("""
+                INSERT INTO bookings (id, host_id, event_type_id, guest_name, guest_email, start_time, end_time,
+                                      status, notes, meeting_link, created_at)
+                SELECT i, ?, 3, 'Guest number ' || i, 'guest' || i || '@example.com',
+                       TIMESTAMP '2020-01-01' + i * INTERVAL '30 minutes',
+                       TIMESTAMP '2020-01-01' + i * INTERVAL '30 minutes' + INTERVAL '30 minutes',
+                       'BOOKED', repeat('Notes for booking ' || i || '. ', 5),
+                       'https://meet.example.com/' || md5(i::text), TIMESTAMP '2019-12-01'
+                FROM generate_series(1, ?) AS i
+                """, HOST_ID, BOOKINGS);
+        jdbcTemplate.execute("CREATE INDEX idx_bookings_host_start_id ON bookings(host_id, start_time, id)");
+        jdbcTemplate.execute("ANALYZE bookings");
+    }
+
+    @Test
+    void exportsAMillionBookingsInASmallHeap() throws Exception {
+        assertThat(Runtime.getRuntime().maxMemory())
+                .as("heap limit; run through the failsafe execution, e.g. mvn verify")
+                .isLessThanOrEqualTo(MAX_HEAP_BYTES);
+        BookingExportService service = new BookingExportService(new JdbcTemplate(dataSource),
+                new DataSourceTransactionManager(dataSource), new ObjectMapper(), 1000, 1);
+        LineCounter out = new LineCounter();
+        statements.clear();
+
+        service.export(HOST_ID, BookingExportService.FORMAT_CSV, out);
+
+        // Header and one line per booking
+        assertThat(out.lines).isEqualTo(BOOKINGS + 1);
+        assertThat(statements).containsExactly("autoCommit=false type=FORWARD_ONLY fetchSize=1000");
+    }
+
+    private static final class LineCounter extends OutputStream {
+
+        long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+
+    /**
+     * Records, for every query executed, the connection and statement settings that
+     * decide whether pgjdbc reads through a cursor or loads the whole result.
+     */
+    private static final class RecordingDataSource extends DelegatingDataSource {
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement statement) {
+                            return recording(connection, statement);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement recording(Connection connection, PreparedStatement statement) {
+            return (PreparedStatement) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                        if (method.getName().equals("executeQuery")) {
+                            statements.add("autoCommit=" + connection.getAutoCommit()
+                                    + " type=" + (statement.getResultSetType() == ResultSet.TYPE_FORWARD_ONLY
+                                            ? "FORWARD_ONLY" : "SCROLLABLE")
+                                    + " fetchSize=" + statement.getFetchSize());
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
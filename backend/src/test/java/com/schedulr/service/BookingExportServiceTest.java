@@ -0,0 +1,181 @@
+package com.schedulr.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schedulr.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingExportServiceTest {
+
+    private static final int FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final BookingExportService service;
+
+    BookingExportServiceTest() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        service = new BookingExportService(jdbcTemplate, transactionManager, new ObjectMapper(), FETCH_SIZE, 2);
+    }
+
+    /**
+     * A one-row view over {@code row(index)}, cheap enough to stream millions of rows.
+     */
+    private static ResultSet resultSet(long[] index, LongFunction<Map<String, Object>> row) {
+        long[] current = { -1 };
+        Object[] values = new Object[1];
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> {
+                    if (current[0] != index[0]) {
+                        current[0] = index[0];
+                        values[0] = row.apply(index[0]);
+                    }
+                    Object value = ((Map<?, ?>) values[0]).get(args[0]);
+                    return switch (method.getName()) {
+                        case "getLong" -> ((Number) value).longValue();
+                        case "getInt" -> ((Number) value).intValue();
+                        case "getString", "getObject" -> value;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+    }
+
+    private static Map<String, Object> booking(long id, String guestName, String notes) {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 5, 9, 0).plusMinutes(30 * (id % 10_000));
+        return Map.ofEntries(
+                Map.entry("id", id),
+                Map.entry("event_type_id", 3L),
+                Map.entry("event_type_name", "Intro call"),
+                Map.entry("duration_minutes", 30),
+                Map.entry("guest_name", guestName),
+                Map.entry("guest_email", "guest" + id + "@example.com"),
+                Map.entry("start_time", start),
+                Map.entry("end_time", start.plusMinutes(30)),
+                Map.entry("status", "CONFIRMED"),
+                Map.entry("notes", notes),
+                Map.entry("meeting_link", ""),
+                Map.entry("cancellation_reason", ""),
+                Map.entry("created_at", start.minusDays(1)));
+    }
+
+    /**
+     * Serve {@code rows} rows to the export, running {@code afterRow} after each one.
+     */
+    private void stream(long rows, LongFunction<Map<String, Object>> row, Runnable afterRow) throws Exception {
+        long[] index = new long[1];
+        ResultSet rs = resultSet(index, row);
+        doAnswer(invocation -> {
+            PreparedStatementCreator creator = invocation.getArgument(0);
+            Connection connection = mock(Connection.class);
+            PreparedStatement ps = mock(PreparedStatement.class);
+            when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(ps);
+            creator.createPreparedStatement(connection);
+            verify(ps).setFetchSize(FETCH_SIZE);
+
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (index[0] = 0; index[0] < rows; index[0]++) {
+                handler.processRow(rs);
+                afterRow.run();
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void neutralisesSpreadsheetFormulas() throws Exception {
+        String[] names = { "=HYPERLINK(\"http://evil\")", "+1", "-2", "@SUM(A1)", "\tTab", "\rReturn", "Plain" };
+        stream(names.length, i -> booking(i, names[(int) i], "ok"), () -> { });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(7L, BookingExportService.FORMAT_CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines[1]).contains(",Intro call,30,\"'=HYPERLINK(\"\"http://evil\"\")\",");
+        assertThat(lines[2]).contains(",'+1,");
+        assertThat(lines[3]).contains(",'-2,");
+        assertThat(lines[4]).contains(",'@SUM(A1),");
+        assertThat(lines[5]).contains(",'\tTab,");
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains(",\"'\rReturn\",");
+        assertThat(lines[lines.length - 1]).contains(",Plain,");
+    }
+
+    @Test
+    void largeExportStreamsWithBoundedBuffering() throws Exception {
+        long rows = 250_000;
+        long[] produced = new long[1];
+        long[] maxBuffered = new long[1];
+        CountingOutputStream out = new CountingOutputStream();
+        // Every row is at least this long, so written bytes lower-bound what was produced
+        int minRowBytes = 120;
+        stream(rows, i -> booking(i, "Guest " + i, "Notes for booking " + i), () -> {
+            produced[0]++;
+            if (produced[0] % 1000 == 0) {
+                maxBuffered[0] = Math.max(maxBuffered[0], produced[0] * minRowBytes - out.count);
+            }
+        });
+
+        service.export(7L, BookingExportService.FORMAT_CSV, out);
+
+        assertThat(produced[0]).isEqualTo(rows);
+        assertThat(out.count).isGreaterThan(rows * minRowBytes);
+        // Nothing beyond the 16 KiB writer buffer is held back, whatever the row count
+        assertThat(maxBuffered[0]).isLessThan(64 * 1024);
+    }
+
+    @Test
+    void refusesExportsBeyondTheConcurrencyCap() {
+        BookingExportService.Permit first = service.reserve();
+        BookingExportService.Permit second = service.reserve();
+
+        assertThatThrownBy(service::reserve)
+                .isInstanceOf(ServiceUnavailableException.class)
+                .satisfies(e -> assertThat(((ServiceUnavailableException) e).getRetryAfterSeconds()).isPositive());
+
+        first.close();
+        first.close();
+        BookingExportService.Permit third = service.reserve();
+        assertThatThrownBy(service::reserve).isInstanceOf(ServiceUnavailableException.class);
+        second.close();
+        third.close();
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
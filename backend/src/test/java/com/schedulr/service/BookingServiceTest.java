@@ -0,0 +1,127 @@
+package com.schedulr.service;
+
+import com.schedulr.cache.HostDirectory;
+import com.schedulr.cache.SlotResultCache;
+import com.schedulr.entity.Booking;
+import com.schedulr.entity.EventType;
+import com.schedulr.entity.User;
+import com.schedulr.event.ScheduleChangedEvent;
+import com.schedulr.exception.BadRequestException;
+import com.schedulr.repository.BookingRepository;
+import com.schedulr.repository.EventTypeRepository;
+import com.schedulr.repository.TeamMemberRepository;
+import com.schedulr.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 5, 6, 14, 0);
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final EmailService emailService = mock(EmailService.class);
+    private final UserService userService = mock(UserService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final BookingService service = new BookingService(bookingRepository, mock(EventTypeRepository.class),
+            mock(UserRepository.class), mock(HostDirectory.class), mock(TeamMemberRepository.class),
+            mock(SlotGenerationService.class), mock(SlotHoldService.class), mock(SlotResultCache.class),
+            mock(RoundRobinBalancer.class), emailService, userService, eventPublisher, new SimpleMeterRegistry());
+
+    private final User alice = User.builder().id(1L).name("Alice").email("alice@example.com").build();
+    private final User bob = User.builder().id(2L).name("Bob").email("bob@example.com").build();
+    private final User carol = User.builder().id(3L).name("Carol").email("carol@example.com").build();
+
+    @BeforeEach
+    void setUp() {
+        when(userService.getCurrentUserId()).thenReturn(bob.getId());
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private Booking booking(long id, User host, String schedulingType, String meetingId) {
+        EventType eventType = EventType.builder().id(9L).name("Team sync").schedulingType(schedulingType).build();
+        return Booking.builder().id(id).host(host).eventType(eventType).guestName("Guest")
+                .guestEmail("guest@example.com").startTime(START).endTime(START.plusMinutes(30))
+                .status("BOOKED").meetingId(meetingId).build();
+    }
+
+    @Test
+    void cancellingAnyMembersRowCancelsTheWholeCollectiveMeeting() {
+        Booking aliceRow = booking(10L, alice, "COLLECTIVE", "m-1");
+        Booking bobRow = booking(11L, bob, "COLLECTIVE", "m-1");
+        Booking carolRow = booking(12L, carol, "COLLECTIVE", "m-1");
+        when(bookingRepository.findById(11L)).thenReturn(Optional.of(bobRow));
+        when(bookingRepository.findBookedByMeetingId("m-1")).thenReturn(List.of(aliceRow, bobRow, carolRow));
+
+        service.cancelBooking(11L, "Guest asked to move it");
+
+        assertThat(List.of(aliceRow, bobRow, carolRow)).allSatisfy(row -> {
+            assertThat(row.getStatus()).isEqualTo("CANCELLED");
+            assertThat(row.getCancellationReason()).isEqualTo("Guest asked to move it");
+        });
+        verify(bookingRepository).saveAll(List.of(aliceRow, bobRow, carolRow));
+        ArgumentCaptor<ScheduleChangedEvent> events = ArgumentCaptor.forClass(ScheduleChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(ScheduleChangedEvent::hostId).containsExactly(1L, 2L, 3L);
+        assertThat(events.getAllValues()).allSatisfy(event -> {
+            assertThat(event.kind()).isEqualTo(ScheduleChangedEvent.Kind.BOOKING_CANCELLED);
+            assertThat(event.start()).isEqualTo(START);
+        });
+        // One email to the guest, one to each member
+        verify(emailService).sendCancellationToGuest(bobRow);
+        verify(emailService).sendCancellationToHost(aliceRow);
+        verify(emailService).sendCancellationToHost(bobRow);
+        verify(emailService).sendCancellationToHost(carolRow);
+        verify(emailService, never()).sendCancellationEmail(any());
+    }
+
+    @Test
+    void rowsAlreadyCancelledAreLeftAlone() {
+        Booking bobRow = booking(11L, bob, "COLLECTIVE", "m-1");
+        when(bookingRepository.findById(11L)).thenReturn(Optional.of(bobRow));
+        // Carol's row was cancelled earlier and is not returned as BOOKED
+        when(bookingRepository.findBookedByMeetingId("m-1")).thenReturn(List.of(bobRow));
+
+        service.cancelBooking(11L, null);
+
+        verify(bookingRepository).saveAll(List.of(bobRow));
+        verify(emailService, times(1)).sendCancellationToHost(any());
+    }
+
+    @Test
+    void individualBookingsAreCancelledAlone() {
+        Booking bobRow = booking(11L, bob, "INDIVIDUAL", null);
+        when(bookingRepository.findById(11L)).thenReturn(Optional.of(bobRow));
+
+        service.cancelBooking(11L, null);
+
+        assertThat(bobRow.getStatus()).isEqualTo("CANCELLED");
+        verify(bookingRepository, never()).findBookedByMeetingId(any());
+        verify(emailService).sendCancellationEmail(bobRow);
+    }
+
+    @Test
+    void membersCannotCancelAMeetingThroughAnotherMembersRow() {
+        Booking aliceRow = booking(10L, alice, "COLLECTIVE", "m-1");
+        when(bookingRepository.findById(10L)).thenReturn(Optional.of(aliceRow));
+
+        assertThatThrownBy(() -> service.cancelBooking(10L, null)).isInstanceOf(BadRequestException.class);
+        assertThat(aliceRow.getStatus()).isEqualTo("BOOKED");
+        verify(bookingRepository, never()).saveAll(any());
+    }
+}
@@ -0,0 +1,108 @@
+package com.schedulr.service;
+
+import com.schedulr.entity.EmailLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailLogWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> written = new ArrayList<>();
+    // Long interval: only the explicit flush() calls below write anything
+    private final EmailLogWriter writer = new EmailLogWriter(jdbcTemplate, meterRegistry, 10, 3, 3_600_000);
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        writer.shutdown();
+    }
+
+    private static EmailLog log(String recipient) {
+        return EmailLog.builder().recipientEmail(recipient).subject("s").status("SENT").build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recordWrites() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+            Collection<EmailLog> rows = invocation.getArgument(1);
+            rows.forEach(row -> written.add(row.getRecipientEmail()));
+            return new int[0][];
+        });
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writeNeverFlushesOnTheCallerOrThrowsWhenFull() {
+        for (int i = 0; i < 5; i++) {
+            writer.write(log("r" + i + "@example.com"));
+        }
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(count("email.log.dropped")).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedBatchIsKeptAndWrittenByTheNextFlush() {
+        writer.write(log("a@example.com"));
+        writer.write(log("b@example.com"));
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new CannotGetJdbcConnectionException("database down"));
+
+        assertThatThrownBy(writer::flush).isInstanceOf(CannotGetJdbcConnectionException.class);
+
+        recordWrites();
+        writer.write(log("c@example.com"));
+        writer.flush();
+        assertThat(written).containsExactly("a@example.com", "b@example.com", "c@example.com");
+        assertThat(count("email.log.flushed")).isEqualTo(3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectedRowIsDroppedAlone() {
+        writer.write(log("a@example.com"));
+        writer.write(log("bad@example.com"));
+        writer.write(log("c@example.com"));
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+            Collection<EmailLog> rows = invocation.getArgument(1);
+            if (rows.stream().anyMatch(row -> row.getRecipientEmail().startsWith("bad"))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            rows.forEach(row -> written.add(row.getRecipientEmail()));
+            return new int[0][];
+        });
+
+        writer.flush();
+
+        assertThat(written).containsExactly("a@example.com", "c@example.com");
+        assertThat(count("email.log.dropped")).isEqualTo(1);
+    }
+}
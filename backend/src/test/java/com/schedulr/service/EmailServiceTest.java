@@ -0,0 +1,86 @@
+package com.schedulr.service;
+
+import com.schedulr.entity.Booking;
+import com.schedulr.entity.EmailOutbox;
+import com.schedulr.entity.EventType;
+import com.schedulr.entity.User;
+import com.schedulr.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class EmailServiceTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    private final EmailOutboxRepository outboxRepository = mock(EmailOutboxRepository.class);
+    private final EmailService emailService = new EmailService(mock(EmailLogWriter.class), outboxRepository,
+            new SimpleMeterRegistry(), null);
+
+    private Booking booking(String guestTimezone) {
+        User host = User.builder().id(1L).name("Alice").email("alice@example.com").timezone("Europe/Berlin").build();
+        // 2026-03-08T07:30Z: 3:30 AM EDT, just after New York springs forward; 8:30 AM CET in Berlin
+        return Booking.builder().id(5L).host(host).eventType(EventType.builder().name("Intro").build())
+                .guestName("Bob").guestEmail("bob@example.com").guestTimezone(guestTimezone)
+                .startTime(LocalDateTime.of(2026, 3, 8, 7, 30)).endTime(LocalDateTime.of(2026, 3, 8, 8, 0))
+                .build();
+    }
+
+    private List<EmailOutbox> enqueued() {
+        ArgumentCaptor<EmailOutbox> messages = ArgumentCaptor.forClass(EmailOutbox.class);
+        verify(outboxRepository, atLeastOnce()).save(messages.capture());
+        return messages.getAllValues();
+    }
+
+    @Test
+    void formatsTheRangeInTheZoneAndNamesIt() {
+        assertThat(EmailService.formatTimeRange(LocalDateTime.of(2026, 3, 8, 7, 30), LocalDateTime.of(2026, 3, 8, 8, 0),
+                NEW_YORK)).isEqualTo("Sunday, March 8, 2026, 3:30 AM - 4:00 AM (America/New_York, UTC-04:00)");
+        assertThat(EmailService.formatTimeRange(LocalDateTime.of(2026, 3, 8, 6, 30), LocalDateTime.of(2026, 3, 8, 7, 0),
+                NEW_YORK)).isEqualTo("Sunday, March 8, 2026, 1:30 AM - 3:00 AM (America/New_York, UTC-05:00)");
+        assertThat(EmailService.formatTimeRange(LocalDateTime.of(2026, 3, 8, 23, 30), LocalDateTime.of(2026, 3, 9, 0, 30),
+                ZoneOffset.UTC)).isEqualTo("Sunday, March 8, 2026, 11:30 PM - Monday, March 9, 2026, 12:30 AM (UTC)");
+    }
+
+    @Test
+    void guestSeesTheZoneTheyBookedInAndHostSeesTheirOwn() {
+        Booking booking = booking("America/New_York");
+
+        emailService.sendBookingConfirmationToGuest(booking);
+        emailService.sendBookingConfirmationToHost(booking);
+
+        List<EmailOutbox> messages = enqueued();
+        assertThat(messages.get(0).getBody())
+                .contains("Date & Time: Sunday, March 8, 2026, 3:30 AM - 4:00 AM (America/New_York, UTC-04:00)");
+        assertThat(messages.get(1).getBody())
+                .contains("Date & Time: Sunday, March 8, 2026, 8:30 AM - 9:00 AM (Europe/Berlin, UTC+01:00)");
+    }
+
+    @Test
+    void cancellationIsRenderedPerRecipient() {
+        emailService.sendCancellationEmail(booking("America/New_York"));
+
+        List<EmailOutbox> messages = enqueued();
+        assertThat(messages).extracting(EmailOutbox::getRecipientEmail)
+                .containsExactly("bob@example.com", "alice@example.com");
+        assertThat(messages.get(0).getBody()).contains("3:30 AM - 4:00 AM (America/New_York, UTC-04:00)");
+        assertThat(messages.get(1).getBody()).contains("8:30 AM - 9:00 AM (Europe/Berlin, UTC+01:00)");
+    }
+
+    @Test
+    void bookingsWithoutAGuestZoneUseTheHosts() {
+        emailService.sendBookingConfirmationToGuest(booking(null));
+
+        assertThat(enqueued().get(0).getBody()).contains("8:30 AM - 9:00 AM (Europe/Berlin, UTC+01:00)");
+    }
+}
@@ -0,0 +1,74 @@
+package com.schedulr.service;
+
+import com.schedulr.cache.HostDirectory;
+import com.schedulr.cache.ScheduleVersions;
+import com.schedulr.event.ScheduleChangedEvent;
+import com.schedulr.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ScheduleVersionServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final HostDirectory hostDirectory = mock(HostDirectory.class);
+    private final ScheduleVersions versions = new ScheduleVersions(userRepository, 10);
+    private final ScheduleVersionService service = new ScheduleVersionService(versions, hostDirectory);
+
+    @BeforeEach
+    void setUp() {
+        when(hostDirectory.find("alice")).thenReturn(Optional.of(new HostDirectory.Host(1L, "UTC")));
+        when(userRepository.findActiveTeamMemberIds(9L)).thenReturn(List.of(1L, 2L));
+    }
+
+    @Test
+    void hostETagsNeedNoQuery() {
+        String etag = service.hostETag("alice").orElseThrow();
+
+        assertThat(service.hostETag("alice")).contains(etag);
+        assertThat(service.hostETag("bob")).isEmpty();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void hostETagsChangeWithTheHostOnly() {
+        String etag = service.hostETag("alice").orElseThrow();
+
+        versions.onScheduleChanged(ScheduleChangedEvent.availabilityChanged(2L));
+        assertThat(service.hostETag("alice")).contains(etag);
+
+        versions.onScheduleChanged(ScheduleChangedEvent.availabilityChanged(1L));
+        assertThat(service.hostETag("alice")).get().isNotEqualTo(etag);
+    }
+
+    @Test
+    void slotETagsCoverEveryMemberAndLoadTheTeamOnce() {
+        String etag = service.slotsETag("alice", 9L).orElseThrow();
+        assertThat(service.slotsETag("alice", 9L)).contains(etag);
+
+        versions.changed(2L);
+        assertThat(service.slotsETag("alice", 9L)).get().isNotEqualTo(etag);
+        verify(userRepository, times(1)).findActiveTeamMemberIds(9L);
+    }
+
+    @Test
+    void droppingEveryCacheInvalidatesEveryETag() {
+        String host = service.hostETag("alice").orElseThrow();
+        String slots = service.slotsETag("alice", 9L).orElseThrow();
+
+        versions.changedAll();
+
+        assertThat(service.hostETag("alice")).get().isNotEqualTo(host);
+        assertThat(service.slotsETag("alice", 9L)).get().isNotEqualTo(slots);
+        verify(userRepository, times(2)).findActiveTeamMemberIds(9L);
+    }
+}
@@ -0,0 +1,205 @@
+package com.schedulr.service;
+
+import com.schedulr.cache.HostScheduleCache;
+import com.schedulr.cache.ScheduleVersions;
+import com.schedulr.cache.SlotHoldRegistry;
+import com.schedulr.dto.booking.TimeSlotDto;
+import com.schedulr.entity.AvailabilityRule;
+import com.schedulr.entity.Booking;
+import com.schedulr.entity.EventType;
+import com.schedulr.entity.User;
+import com.schedulr.repository.AvailabilityRuleRepository;
+import com.schedulr.repository.BookingRepository;
+import com.schedulr.repository.SlotHoldRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Randomized comparison of the interval sweep against the original per-slot scan,
+ * which checked every candidate slot against every booking. Both run in UTC, where
+ * the original's wall-clock arithmetic and the sweep's epoch seconds agree.
+ */
+class SlotGenerationEquivalenceTest {
+
+    private static final long HOST_ID = 1L;
+    private static final int[] DURATIONS = { 15, 20, 25, 30, 45, 60, 90 };
+    private static final int[] BUFFERS = { 0, 0, 5, 10, 15, 30 };
+
+    private final AvailabilityRuleRepository ruleRepository = mock(AvailabilityRuleRepository.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final HostScheduleCache hostScheduleCache = new HostScheduleCache(10, 90);
+    private final SlotHoldRegistry slotHoldRegistry = new SlotHoldRegistry(mock(SlotHoldRepository.class),
+            mock(ScheduleVersions.class));
+    private final SlotGenerationService service = new SlotGenerationService(ruleRepository, bookingRepository,
+            hostScheduleCache, slotHoldRegistry, new SimpleMeterRegistry());
+    private final User host = User.builder().id(HOST_ID).username("alice").timezone("UTC").build();
+
+    @AfterEach
+    void tearDown() {
+        slotHoldRegistry.shutdown();
+    }
+
+    @Test
+    void sweepMatchesPerSlotScan() {
+        service.registerMeters();
+        Random random = new Random(20240611);
+        // Tomorrow onwards, so that both sides agree on which slots are in the past
+        LocalDate firstDay = LocalDate.now(ZoneOffset.UTC).plusDays(1);
+        for (int run = 0; run < 500; run++) {
+            LocalDate startDate = firstDay.plusDays(random.nextInt(7));
+            LocalDate endDate = startDate.plusDays(random.nextInt(7));
+            EventType eventType = EventType.builder().id(3L).user(host)
+                    .durationMinutes(DURATIONS[random.nextInt(DURATIONS.length)])
+                    .bufferBefore(BUFFERS[random.nextInt(BUFFERS.length)])
+                    .bufferAfter(BUFFERS[random.nextInt(BUFFERS.length)])
+                    .build();
+            List<AvailabilityRule> rules = randomRules(random, eventType);
+            List<Booking> bookings = randomBookings(random, startDate.minusDays(1), endDate.plusDays(1));
+            when(ruleRepository.findByUserIdAndIsAvailableTrue(HOST_ID)).thenReturn(rules);
+            when(bookingRepository.findBookedOverlapping(eq(HOST_ID), any(), any())).thenReturn(bookings);
+            hostScheduleCache.evictAll();
+
+            List<TimeSlotDto> expected = perSlotScan(eventType, rules, bookings, startDate, endDate);
+            List<TimeSlotDto> actual = service.generateSlots(eventType, ZoneOffset.UTC, ZoneOffset.UTC,
+                    startDate, endDate);
+
+            assertThat(actual)
+                    .as("run %d: %s..%s, %s", run, startDate, endDate, describe(eventType))
+                    .usingRecursiveFieldByFieldElementComparatorIgnoringFields("timezone")
+                    .containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void mergedIntervalsOverlapExactlyWhenABookingDoes() {
+        Random random = new Random(7);
+        LocalDate day = LocalDate.of(2026, 3, 2);
+        for (int run = 0; run < 2000; run++) {
+            List<Booking> bookings = new ArrayList<>();
+            int count = random.nextInt(12);
+            for (int i = 0; i < count; i++) {
+                LocalDateTime start = day.atStartOfDay().plusSeconds(random.nextInt(2 * 86_400));
+                bookings.add(booking(start, start.plusSeconds(1 + random.nextInt(4 * 3600))));
+            }
+            long[] merged = SlotGenerationService.mergeBusyIntervals(new ArrayList<>(bookings));
+
+            for (int i = 2; i < merged.length; i += 2) {
+                assertThat(merged[i]).as("disjoint and sorted").isGreaterThan(merged[i - 1]);
+            }
+            for (int probe = 0; probe < 50; probe++) {
+                long start = day.atStartOfDay().toEpochSecond(ZoneOffset.UTC) + random.nextInt(2 * 86_400);
+                long end = start + 1 + random.nextInt(3 * 3600);
+                boolean expected = bookings.stream().anyMatch(b ->
+                        b.getStartTime().toEpochSecond(ZoneOffset.UTC) < end
+                                && b.getEndTime().toEpochSecond(ZoneOffset.UTC) > start);
+                boolean actual = false;
+                for (int i = 0; i < merged.length; i += 2) {
+                    actual |= merged[i] < end && merged[i + 1] > start;
+                }
+                assertThat(actual).as("run %d, [%d, %d)", run, start, end).isEqualTo(expected);
+            }
+        }
+    }
+
+    /**
+     * The original algorithm: for each day, take the first rule for its weekday,
+     * step through it by duration plus buffer after, and scan every booking for an
+     * overlap with the buffered slot.
+     */
+    private static List<TimeSlotDto> perSlotScan(EventType eventType, List<AvailabilityRule> rules,
+            List<Booking> bookings, LocalDate startDate, LocalDate endDate) {
+        int duration = eventType.getDurationMinutes();
+        int bufferBefore = eventType.getBufferBefore();
+        int bufferAfter = eventType.getBufferAfter();
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        List<TimeSlotDto> slots = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            String dayOfWeek = date.getDayOfWeek().name();
+            AvailabilityRule rule = rules.stream()
+                    .filter(r -> r.getDayOfWeek().equalsIgnoreCase(dayOfWeek))
+                    .findFirst()
+                    .orElse(null);
+            if (rule == null) {
+                continue;
+            }
+            LocalDateTime slotStart = date.atTime(rule.getStartTime());
+            LocalDateTime ruleEnd = date.atTime(rule.getEndTime());
+            for (; !slotStart.plusMinutes(duration).isAfter(ruleEnd); slotStart = slotStart.plusMinutes(duration + bufferAfter)) {
+                if (!slotStart.isAfter(now)) {
+                    continue;
+                }
+                LocalDateTime slotEnd = slotStart.plusMinutes(duration);
+                LocalDateTime effectiveStart = slotStart.minusMinutes(bufferBefore);
+                LocalDateTime effectiveEnd = slotEnd.plusMinutes(bufferAfter);
+                boolean isBooked = bookings.stream().anyMatch(b ->
+                        b.getStartTime().isBefore(effectiveEnd) && b.getEndTime().isAfter(effectiveStart));
+                slots.add(TimeSlotDto.builder()
+                        .startTime(slotStart)
+                        .endTime(slotEnd)
+                        .available(!isBooked)
+                        .build());
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * A rule for most weekdays, on a 5-minute grid, sometimes preceded by a second
+     * rule for the same day that only the first one should count for.
+     */
+    private List<AvailabilityRule> randomRules(Random random, EventType eventType) {
+        List<AvailabilityRule> rules = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            int rulesForDay = random.nextInt(10) == 0 ? 0 : random.nextInt(6) == 0 ? 2 : 1;
+            for (int i = 0; i < rulesForDay; i++) {
+                int startMinute = random.nextInt(20 * 12) * 5;
+                int endMinute = Math.min(startMinute + 5 + random.nextInt(12 * 12) * 5, 23 * 60 + 55);
+                rules.add(AvailabilityRule.builder().user(host).dayOfWeek(day.name().toLowerCase())
+                        .startTime(LocalTime.ofSecondOfDay(startMinute * 60L))
+                        .endTime(LocalTime.ofSecondOfDay(endMinute * 60L))
+                        .build());
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Minute-aligned bookings, as the booking flow creates them, possibly overlapping
+     * each other and spanning midnight.
+     */
+    private List<Booking> randomBookings(Random random, LocalDate from, LocalDate to) {
+        int days = (int) (to.toEpochDay() - from.toEpochDay()) + 1;
+        int count = random.nextInt(4 * days);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = from.atStartOfDay().plusMinutes(random.nextInt(days * 24 * 60));
+            bookings.add(booking(start, start.plusMinutes(5 + random.nextInt(180))));
+        }
+        return bookings;
+    }
+
+    private Booking booking(LocalDateTime start, LocalDateTime end) {
+        return Booking.builder().host(host).startTime(start).endTime(end).status("BOOKED").build();
+    }
+
+    private static String describe(EventType eventType) {
+        return eventType.getDurationMinutes() + " min, buffers " + eventType.getBufferBefore() + "/"
+                + eventType.getBufferAfter();
+    }
+}
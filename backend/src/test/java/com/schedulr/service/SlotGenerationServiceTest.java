@@ -0,0 +1,229 @@
+package com.schedulr.service;
+
+import com.schedulr.cache.HostScheduleCache;
+import com.schedulr.cache.ScheduleVersions;
+import com.schedulr.cache.SlotHoldRegistry;
+import com.schedulr.dto.booking.TimeSlotDto;
+import com.schedulr.entity.AvailabilityRule;
+import com.schedulr.entity.Booking;
+import com.schedulr.entity.EventType;
+import com.schedulr.entity.SlotHold;
+import com.schedulr.entity.User;
+import com.schedulr.repository.AvailabilityRuleRepository;
+import com.schedulr.repository.BookingRepository;
+import com.schedulr.repository.SlotHoldRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlotGenerationServiceTest {
+
+    private static final long HOST_ID = 1L;
+
+    private final AvailabilityRuleRepository ruleRepository = mock(AvailabilityRuleRepository.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final SlotHoldRepository slotHoldRepository = mock(SlotHoldRepository.class);
+    private final User host = User.builder().id(HOST_ID).username("alice").timezone("UTC").build();
+    private final LocalDate day = LocalDate.now(ZoneOffset.UTC).plusDays(3);
+    private SlotHoldRegistry slotHoldRegistry;
+    private SlotGenerationService service;
+
+    @BeforeEach
+    void setUp() {
+        List<AvailabilityRule> rules = Arrays.stream(DayOfWeek.values())
+                .map(d -> AvailabilityRule.builder().user(host).dayOfWeek(d.name())
+                        .startTime(LocalTime.of(9, 0)).endTime(LocalTime.of(17, 0)).build())
+                .toList();
+        when(ruleRepository.findByUserIdAndIsAvailableTrue(HOST_ID)).thenReturn(rules);
+        slotHoldRegistry = new SlotHoldRegistry(slotHoldRepository, mock(ScheduleVersions.class));
+        service = new SlotGenerationService(ruleRepository, bookingRepository, new HostScheduleCache(10, 90),
+                slotHoldRegistry, new SimpleMeterRegistry());
+        service.registerMeters();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slotHoldRegistry.shutdown();
+    }
+
+    private void givenRules(LocalTime start, LocalTime end) {
+        when(ruleRepository.findByUserIdAndIsAvailableTrue(HOST_ID)).thenReturn(Arrays.stream(DayOfWeek.values())
+                .map(d -> AvailabilityRule.builder().user(host).dayOfWeek(d.name()).startTime(start).endTime(end).build())
+                .toList());
+    }
+
+    private LocalDateTime at(int hour, int minute) {
+        return day.atTime(hour, minute);
+    }
+
+    private EventType eventType(int duration, int bufferBefore, int bufferAfter) {
+        return EventType.builder().id(3L).user(host).durationMinutes(duration)
+                .bufferBefore(bufferBefore).bufferAfter(bufferAfter).build();
+    }
+
+    private void givenBookings(Booking... bookings) {
+        when(bookingRepository.findBookedOverlapping(eq(HOST_ID), any(), any())).thenReturn(List.of(bookings));
+    }
+
+    private void givenHolds(SlotHold... holds) {
+        when(slotHoldRepository.findActiveByHostId(eq(HOST_ID), any())).thenReturn(List.of(holds));
+    }
+
+    private Booking booking(LocalDateTime start, LocalDateTime end) {
+        return Booking.builder().host(host).startTime(start).endTime(end).status("BOOKED").build();
+    }
+
+    private SlotHold hold(String token, LocalDateTime start, LocalDateTime end) {
+        return SlotHold.builder().hostId(HOST_ID).token(token).startTime(start).endTime(end)
+                .expiresAt(LocalDateTime.now().plusHours(1)).build();
+    }
+
+    @Test
+    void holdChecksApplyTheEventTypeBuffers() {
+        givenBookings();
+        givenHolds(hold("other", at(14, 0), at(14, 30)));
+        EventType eventType = eventType(30, 15, 10);
+
+        // Clear of the hold itself, but not of it plus the buffers
+        assertThat(service.isFree(HOST_ID, eventType, at(13, 25), null)).isFalse();
+        assertThat(service.isFree(HOST_ID, eventType, at(14, 40), null)).isFalse();
+        assertThat(service.isHoldFree(HOST_ID, eventType, at(13, 25), null)).isFalse();
+        assertThat(service.isHoldFree(HOST_ID, eventType, at(14, 40), null)).isFalse();
+        // Just clear once the buffers are counted
+        assertThat(service.isFree(HOST_ID, eventType, at(13, 20), null)).isTrue();
+        assertThat(service.isFree(HOST_ID, eventType, at(14, 45), null)).isTrue();
+        // The caller's own hold does not count
+        assertThat(service.isHoldFree(HOST_ID, eventType, at(14, 0), "other")).isTrue();
+    }
+
+    @Test
+    void isFreeAgreesWithTheOfferedSlots() {
+        givenBookings(booking(at(12, 0), at(13, 0)));
+        givenHolds(hold("other", at(14, 0), at(14, 30)));
+        EventType eventType = eventType(30, 15, 10);
+
+        List<TimeSlotDto> slots = service.generateSlots(eventType, ZoneOffset.UTC, ZoneOffset.UTC, day, day);
+
+        assertThat(slots).isNotEmpty();
+        assertThat(slots).anyMatch(slot -> !slot.isAvailable());
+        for (TimeSlotDto slot : slots) {
+            assertThat(service.isFree(HOST_ID, eventType, slot.getStartTime(), null))
+                    .as("slot at %s", slot.getStartTime())
+                    .isEqualTo(slot.isAvailable());
+        }
+    }
+
+    @Test
+    void ruleTimesSkippedByASpringForwardGapProduceNoSlot() {
+        ZoneId zone = ZoneId.of("America/New_York");
+        ZoneOffsetTransition gap = nextTransition(zone, true);
+        LocalDate gapDay = gap.getDateTimeBefore().toLocalDate();
+        givenRules(LocalTime.of(0, 0), LocalTime.of(5, 0));
+        givenBookings();
+        givenHolds();
+
+        List<TimeSlotDto> slots = service.generateSlots(eventType(30, 0, 0), zone, zone, gapDay, gapDay);
+
+        // 00:00-05:00 on the gap day is four real hours: 02:00-03:00 does not exist
+        assertThat(slots).extracting(slot -> slot.getStartTime().toLocalTime()).containsExactly(
+                LocalTime.of(0, 0), LocalTime.of(0, 30), LocalTime.of(1, 0), LocalTime.of(1, 30),
+                LocalTime.of(3, 0), LocalTime.of(3, 30), LocalTime.of(4, 0), LocalTime.of(4, 30));
+        assertConsistentAcrossZones(zone, gapDay, slots);
+    }
+
+    @Test
+    void ruleTimesRepeatedByAFallBackOverlapProduceOneSlot() {
+        ZoneId zone = ZoneId.of("America/New_York");
+        ZoneOffsetTransition overlap = nextTransition(zone, false);
+        LocalDate overlapDay = overlap.getDateTimeBefore().toLocalDate();
+        givenRules(LocalTime.of(0, 0), LocalTime.of(5, 0));
+        givenBookings();
+        givenHolds();
+
+        List<TimeSlotDto> slots = service.generateSlots(eventType(30, 0, 0), zone, zone, overlapDay, overlapDay);
+
+        assertThat(slots).extracting(slot -> slot.getStartTime().toLocalTime()).containsExactly(
+                LocalTime.of(0, 0), LocalTime.of(0, 30), LocalTime.of(1, 0), LocalTime.of(1, 30),
+                LocalTime.of(2, 0), LocalTime.of(2, 30), LocalTime.of(3, 0), LocalTime.of(3, 30),
+                LocalTime.of(4, 0), LocalTime.of(4, 30));
+        // The repeated 01:00 and 01:30 are offered at their first occurrence
+        LocalDateTime oneAm = overlapDay.atTime(1, 0);
+        assertThat(slots.get(2).getEndTime()).isEqualTo(oneAm.plusMinutes(30));
+        assertThat(TimeZones.toUtc(oneAm, zone)).isEqualTo(oneAm.minusSeconds(overlap.getOffsetBefore().getTotalSeconds()));
+        assertConsistentAcrossZones(zone, overlapDay, slots);
+    }
+
+    @Test
+    void aBookingAcrossTheGapBlocksTheSlotsItCovers() {
+        ZoneId zone = ZoneId.of("America/New_York");
+        LocalDate gapDay = nextTransition(zone, true).getDateTimeBefore().toLocalDate();
+        givenRules(LocalTime.of(0, 0), LocalTime.of(5, 0));
+        // 01:30 local until 03:30 local is one real hour
+        givenBookings(booking(TimeZones.toUtc(gapDay.atTime(1, 30), zone), TimeZones.toUtc(gapDay.atTime(3, 30), zone)));
+        givenHolds();
+
+        List<TimeSlotDto> slots = service.generateSlots(eventType(30, 0, 0), zone, zone, gapDay, gapDay);
+
+        assertThat(slots).filteredOn(slot -> !slot.isAvailable())
+                .extracting(slot -> slot.getStartTime().toLocalTime())
+                .containsExactly(LocalTime.of(1, 30), LocalTime.of(3, 0));
+        for (TimeSlotDto slot : slots) {
+            assertThat(service.isFree(HOST_ID, eventType(30, 0, 0), TimeZones.toUtc(slot.getStartTime(), zone), null))
+                    .as("slot at %s", slot.getStartTime())
+                    .isEqualTo(slot.isAvailable());
+        }
+    }
+
+    /**
+     * The same slots rendered in UTC are the host-zone slots converted instant by
+     * instant, strictly increasing, each lasting the event's duration.
+     */
+    private void assertConsistentAcrossZones(ZoneId hostZone, LocalDate hostDay, List<TimeSlotDto> hostSlots) {
+        List<TimeSlotDto> utcSlots = service.generateSlots(eventType(30, 0, 0), hostZone, ZoneOffset.UTC,
+                hostDay, hostDay.plusDays(1)).stream()
+                .filter(slot -> slot.getStartTime().atZone(ZoneOffset.UTC).withZoneSameInstant(hostZone)
+                        .toLocalDate().equals(hostDay))
+                .toList();
+
+        assertThat(utcSlots).hasSameSizeAs(hostSlots);
+        for (int i = 0; i < hostSlots.size(); i++) {
+            TimeSlotDto local = hostSlots.get(i);
+            TimeSlotDto utc = utcSlots.get(i);
+            assertThat(utc.getStartTime()).isEqualTo(TimeZones.toUtc(local.getStartTime(), hostZone));
+            assertThat(utc.getEndTime()).isEqualTo(utc.getStartTime().plusMinutes(30));
+            if (i > 0) {
+                assertThat(utc.getStartTime()).isAfter(utcSlots.get(i - 1).getStartTime());
+            }
+        }
+    }
+
+    /**
+     * The next transition in {@code zone} at least two days out that is a gap
+     * ({@code gap}) or an overlap (otherwise).
+     */
+    private static ZoneOffsetTransition nextTransition(ZoneId zone, boolean gap) {
+        ZoneOffsetTransition transition = zone.getRules().nextTransition(Instant.now().plusSeconds(2 * 86400));
+        while (transition.isGap() != gap) {
+            transition = zone.getRules().nextTransition(transition.getInstant());
+        }
+        return transition;
+    }
+}
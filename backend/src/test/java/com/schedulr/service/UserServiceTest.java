@@ -0,0 +1,66 @@
+package com.schedulr.service;
+
+import com.schedulr.cache.HostDirectory;
+import com.schedulr.dto.user.UpdateProfileRequest;
+import com.schedulr.entity.User;
+import com.schedulr.event.ScheduleChangedEvent;
+import com.schedulr.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final UserService userService = new UserService(userRepository, mock(HostDirectory.class),
+            eventPublisher);
+
+    private final User user = User.builder().id(4L).name("Dana").email("dana@example.com").username("dana")
+            .timezone(null).build();
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(user.getEmail(), null));
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static UpdateProfileRequest request(String timezone) {
+        UpdateProfileRequest request = new UpdateProfileRequest();
+        request.setName("Dana");
+        request.setUsername("dana");
+        request.setTimezone(timezone);
+        return request;
+    }
+
+    @Test
+    void updatingAProfileWithoutAZoneLeavesThePublicPagesAlone() {
+        userService.updateProfile(request(null));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void settingAZoneWhereThereWasNoneRefreshesThePublicPages() {
+        userService.updateProfile(request("Europe/Berlin"));
+
+        verify(eventPublisher).publishEvent(ScheduleChangedEvent.profileChanged(4L));
+    }
+}
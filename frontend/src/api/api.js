@@ -1,4 +1,5 @@
 import axios from 'axios';
+import { guestTimeZone } from '../utils/dates';
 
 const API_BASE_URL = import.meta.env.VITE_API_URL;
 
@@ -63,27 +64,61 @@ export const availabilityAPI = {
 
 // Bookings API
 export const bookingAPI = {
-    getAll: () => api.get('/bookings'),
-    getUpcoming: () => api.get('/bookings/upcoming'),
-    getPast: () => api.get('/bookings/past'),
+    // List endpoints are paginated; pass the X-Next-Cursor header back as cursor
+    getAll: (cursor) => api.get('/bookings', { params: { cursor } }),
+    getUpcoming: (cursor) => api.get('/bookings/upcoming', { params: { cursor } }),
+    getPast: (cursor) => api.get('/bookings/past', { params: { cursor } }),
     cancel: (id, reason) => api.patch(`/bookings/${id}/cancel`, { reason }),
+    export: (format = 'csv') => api.get('/bookings/export', { params: { format }, responseType: 'blob' }),
 };
 
 // Public API (no auth)
 export const publicAPI = {
     getProfile: (username) => api.get(`/public/${username}`),
     getEventTypes: (username) => api.get(`/public/${username}/event-types`),
+    // Slot times are sent and received in the browser's time zone
     getSlots: (username, eventTypeId, date) =>
-        api.get(`/public/${username}/slots`, { params: { eventTypeId, date } }),
-    book: (username, data) => api.post(`/public/${username}/book`, data),
+        api.get(`/public/${username}/slots`, { params: { eventTypeId, date, timezone: guestTimeZone() } }),
+    getNextSlots: (username, eventTypeId, count = 3) =>
+        api.get(`/public/${username}/next-slots`, { params: { eventTypeId, count, timezone: guestTimeZone() } }),
+    // Streams NDJSON, one line per day; onDay({ date, slots }) runs as each day arrives
+    streamSlots: async (username, eventTypeId, from, to, onDay) => {
+        const params = new URLSearchParams({ eventTypeId, from, to, timezone: guestTimeZone() });
+        const res = await fetch(`${API_BASE_URL}/public/${username}/slots/range?${params}`);
+        if (!res.ok) {
+            throw new Error(`Failed to load slots: ${res.status}`);
+        }
+        const reader = res.body.getReader();
+        const decoder = new TextDecoder();
+        let buffered = '';
+        for (;;) {
+            const { done, value } = await reader.read();
+            if (done) {
+                break;
+            }
+            buffered += decoder.decode(value, { stream: true });
+            let newline;
+            while ((newline = buffered.indexOf('\n')) >= 0) {
+                const line = buffered.slice(0, newline);
+                buffered = buffered.slice(newline + 1);
+                if (line) {
+                    onDay(JSON.parse(line));
+                }
+            }
+        }
+    },
+    hold: (username, data) => api.post(`/public/${username}/hold`, { ...data, timezone: guestTimeZone() }),
+    releaseHold: (username, token) => api.delete(`/public/${username}/hold/${token}`),
+    book: (username, data) => api.post(`/public/${username}/book`, { ...data, timezone: guestTimeZone() }),
 };
 
 // Admin API
 export const adminAPI = {
-    getUsers: () => api.get('/admin/users'),
+    // List endpoints are paginated; pass the X-Next-Cursor header back as cursor
+    getUsers: (params) => api.get('/admin/users', { params }),
     toggleUser: (userId) => api.patch(`/admin/users/${userId}/toggle`),
-    getSubscriptions: () => api.get('/admin/subscriptions'),
-    getPayments: () => api.get('/admin/payments'),
+    getSubscriptions: (params) => api.get('/admin/subscriptions', { params }),
+    getPayments: (params) => api.get('/admin/payments', { params }),
     getStats: () => api.get('/admin/stats'),
 };
 
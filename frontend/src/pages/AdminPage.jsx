@@ -5,16 +5,37 @@ import { Users, CreditCard, TrendingUp, Shield, ToggleLeft, ToggleRight } from '
 
 export default function AdminPage() {
     const [users, setUsers] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [search, setSearch] = useState('');
     const [stats, setStats] = useState({});
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [tab, setTab] = useState('users');
 
     useEffect(() => {
-        Promise.all([adminAPI.getUsers(), adminAPI.getStats()])
-            .then(([usersRes, statsRes]) => { setUsers(usersRes.data); setStats(statsRes.data); })
-            .finally(() => setLoading(false));
+        adminAPI.getStats().then(res => setStats(res.data));
     }, []);
 
+    // Debounced server-side search; the first page is replaced on every change
+    useEffect(() => {
+        const timer = setTimeout(() => {
+            adminAPI.getUsers({ search: search || undefined })
+                .then(res => { setUsers(res.data); setNextCursor(res.headers['x-next-cursor'] || null); })
+                .finally(() => setLoading(false));
+        }, search ? 300 : 0);
+        return () => clearTimeout(timer);
+    }, [search]);
+
+    const handleLoadMore = async () => {
+        setLoadingMore(true);
+        try {
+            const res = await adminAPI.getUsers({ search: search || undefined, cursor: nextCursor });
+            setUsers(prev => [...prev, ...res.data]);
+            setNextCursor(res.headers['x-next-cursor'] || null);
+        } catch { toast.error('Failed to load more users'); }
+        finally { setLoadingMore(false); }
+    };
+
     const handleToggleUser = async (userId) => {
         try {
             const res = await adminAPI.toggleUser(userId);
@@ -41,7 +62,7 @@ export default function AdminPage() {
                 <div className="stat-card">
                     <div style={{ color: 'var(--primary-light)' }}><Users size={24} /></div>
                     <div className="stat-value">{stats.totalUsers || 0}</div>
-                    <div className="stat-label">Total Users</div>
+                    <div className="stat-label">Total Users ({stats.activeUsers || 0} active)</div>
                 </div>
                 <div className="stat-card">
                     <div style={{ color: 'var(--success)' }}><CreditCard size={24} /></div>
@@ -57,7 +78,11 @@ export default function AdminPage() {
 
             {/* Users Table */}
             <div className="card">
-                <h2 style={{ fontSize: 18, fontWeight: 700, marginBottom: 20 }}>All Users</h2>
+                <div style={{ display: 'flex', justifyContent: 'space-between', alignItems: 'center', marginBottom: 20, gap: 16 }}>
+                    <h2 style={{ fontSize: 18, fontWeight: 700 }}>All Users</h2>
+                    <input className="form-input" style={{ maxWidth: 280 }} placeholder="Search email or username"
+                        value={search} onChange={e => setSearch(e.target.value)} />
+                </div>
                 <div style={{ overflowX: 'auto' }}>
                     <table style={{ width: '100%', borderCollapse: 'collapse' }}>
                         <thead>
@@ -103,6 +128,13 @@ export default function AdminPage() {
                         </tbody>
                     </table>
                 </div>
+                {nextCursor && (
+                    <div style={{ display: 'flex', justifyContent: 'center', marginTop: 16 }}>
+                        <button className="btn btn-secondary" onClick={handleLoadMore} disabled={loadingMore}>
+                            {loadingMore ? 'Loading...' : 'Load more'}
+                        </button>
+                    </div>
+                )}
             </div>
         </div>
     );
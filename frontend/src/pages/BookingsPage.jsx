@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { bookingAPI } from '../api/api';
 import toast from 'react-hot-toast';
 import { format } from 'date-fns';
+import { parseUtc } from '../utils/dates';
 import { Video, MapPin, X, Clock, User } from 'lucide-react';
 
 const StatusBadge = ({ status }) => {
@@ -34,7 +35,7 @@ function BookingCard({ booking, onCancel }) {
                         <div style={{ display: 'flex', gap: 16, marginTop: 8, color: 'var(--text-secondary)', fontSize: 13 }}>
                             <span style={{ display: 'flex', alignItems: 'center', gap: 4 }}>
                                 <Clock size={13} />
-                                {format(new Date(booking.startTime), 'MMM d, yyyy • h:mm a')}
+                                {format(parseUtc(booking.startTime), 'MMM d, yyyy • h:mm a')}
                             </span>
                             {booking.meetingLink && (
                                 <a href={booking.meetingLink} target="_blank" rel="noreferrer"
@@ -64,14 +65,31 @@ export default function BookingsPage() {
     const [tab, setTab] = useState('upcoming');
     const [upcoming, setUpcoming] = useState([]);
     const [past, setPast] = useState([]);
+    const [cursors, setCursors] = useState({ upcoming: null, past: null });
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
 
     useEffect(() => {
         Promise.all([bookingAPI.getUpcoming(), bookingAPI.getPast()])
-            .then(([u, p]) => { setUpcoming(u.data); setPast(p.data); })
+            .then(([u, p]) => {
+                setUpcoming(u.data);
+                setPast(p.data);
+                setCursors({ upcoming: u.headers['x-next-cursor'] || null, past: p.headers['x-next-cursor'] || null });
+            })
             .finally(() => setLoading(false));
     }, []);
 
+    const handleLoadMore = async () => {
+        setLoadingMore(true);
+        try {
+            const fetchPage = tab === 'upcoming' ? bookingAPI.getUpcoming : bookingAPI.getPast;
+            const res = await fetchPage(cursors[tab]);
+            (tab === 'upcoming' ? setUpcoming : setPast)(prev => [...prev, ...res.data]);
+            setCursors(prev => ({ ...prev, [tab]: res.headers['x-next-cursor'] || null }));
+        } catch { toast.error('Failed to load more meetings'); }
+        finally { setLoadingMore(false); }
+    };
+
     const handleCancel = async (id) => {
         if (!confirm('Cancel this meeting?')) return;
         try {
@@ -82,8 +100,8 @@ export default function BookingsPage() {
     };
 
     const tabs = [
-        { key: 'upcoming', label: 'Upcoming', count: upcoming.length },
-        { key: 'past', label: 'Past', count: past.length },
+        { key: 'upcoming', label: 'Upcoming', count: upcoming.length + (cursors.upcoming ? '+' : '') },
+        { key: 'past', label: 'Past', count: past.length + (cursors.past ? '+' : '') },
     ];
 
     if (loading) return <div className="loading-screen"><div className="loading-spinner" style={{ width: 40, height: 40 }}></div></div>;
@@ -124,6 +142,14 @@ export default function BookingsPage() {
             ) : (
                 current.map(b => <BookingCard key={b.id} booking={b} onCancel={handleCancel} />)
             )}
+
+            {cursors[tab] && (
+                <div style={{ display: 'flex', justifyContent: 'center', marginTop: 16 }}>
+                    <button className="btn btn-secondary" onClick={handleLoadMore} disabled={loadingMore}>
+                        {loadingMore ? 'Loading...' : 'Load more'}
+                    </button>
+                </div>
+            )}
         </div>
     );
 }
@@ -3,6 +3,7 @@ import { useAuth } from '../context/AuthContext';
 import { bookingAPI, eventTypeAPI } from '../api/api';
 import { Calendar, Clock, Users, TrendingUp, Video, MapPin, ExternalLink } from 'lucide-react';
 import { format } from 'date-fns';
+import { parseUtc } from '../utils/dates';
 
 const StatusBadge = ({ status }) => {
     const map = { BOOKED: 'badge-success', CANCELLED: 'badge-danger', COMPLETED: 'badge-secondary' };
@@ -95,7 +96,7 @@ export default function DashboardPage() {
                                         <p style={{ fontWeight: 600, fontSize: 14 }}>{booking.guestName}</p>
                                         <p style={{ color: 'var(--text-secondary)', fontSize: 12 }}>{booking.eventTypeName}</p>
                                         <p style={{ color: 'var(--primary-light)', fontSize: 12, marginTop: 4 }}>
-                                            {format(new Date(booking.startTime), 'MMM d, yyyy • h:mm a')}
+                                            {format(parseUtc(booking.startTime), 'MMM d, yyyy • h:mm a')}
                                         </p>
                                     </div>
                                     <StatusBadge status={booking.status} />
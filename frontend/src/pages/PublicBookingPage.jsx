@@ -1,23 +1,27 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useParams, useSearchParams } from 'react-router-dom';
 import { publicAPI } from '../api/api';
 import toast from 'react-hot-toast';
 import { format, addDays, startOfDay } from 'date-fns';
+import { parseUtc } from '../utils/dates';
 import { Clock, MapPin, ChevronLeft, ChevronRight, Zap, CheckCircle, Video, User, Mail, FileText } from 'lucide-react';
 
+// Days requested per streamed slot range; paging through weeks inside it needs no new request
+const RANGE_DAYS = 28;
+
 export default function PublicBookingPage() {
     const { username, eventTypeId } = useParams();
     const [profile, setProfile] = useState(null);
     const [eventTypes, setEventTypes] = useState([]);
     const [selectedET, setSelectedET] = useState(null);
-    const [slots, setSlots] = useState([]);
+    const [slotDays, setSlotDays] = useState({}); // 'yyyy-MM-dd' -> slots, filled in as days stream in
     const [selectedSlot, setSelectedSlot] = useState(null);
     const [currentDate, setCurrentDate] = useState(startOfDay(new Date()));
     const [step, setStep] = useState('select-event'); // select-event | select-slot | book-form | success
     const [form, setForm] = useState({ guestName: '', guestEmail: '', notes: '' });
     const [loading, setLoading] = useState(true);
     const [booking, setBooking] = useState(null);
-    const [slotsLoading, setSlotsLoading] = useState(false);
+    const [hold, setHold] = useState(null);
 
     useEffect(() => {
         Promise.all([publicAPI.getProfile(username), publicAPI.getEventTypes(username)])
@@ -33,15 +37,61 @@ export default function PublicBookingPage() {
             .finally(() => setLoading(false));
     }, [username, eventTypeId]);
 
+    const requestedDays = useRef(new Set());
+    const generation = useRef(0);
+    const weekDays = Array.from({ length: 7 }, (_, i) => format(addDays(currentDate, i), 'yyyy-MM-dd'));
+    const slots = weekDays.flatMap(day => slotDays[day] || []);
+    const slotsLoading = weekDays.some(day => !(day in slotDays));
+
+    // Start from fresh availability whenever the guest (re)enters slot selection
     useEffect(() => {
-        if (selectedET && step === 'select-slot') {
-            setSlotsLoading(true);
-            publicAPI.getSlots(username, selectedET.id, format(currentDate, 'yyyy-MM-dd'))
-                .then(res => setSlots(res.data))
-                .finally(() => setSlotsLoading(false));
+        if (step === 'select-slot') {
+            generation.current++;
+            requestedDays.current = new Set();
+            setSlotDays({});
         }
+    }, [selectedET, step]);
+
+    useEffect(() => {
+        if (!selectedET || step !== 'select-slot' || weekDays.every(day => requestedDays.current.has(day))) {
+            return;
+        }
+        const days = Array.from({ length: RANGE_DAYS }, (_, i) => format(addDays(currentDate, i), 'yyyy-MM-dd'));
+        days.forEach(day => requestedDays.current.add(day));
+        const current = generation.current;
+        publicAPI.streamSlots(username, selectedET.id, days[0], days[days.length - 1], ({ date, slots: daySlots }) => {
+            if (current === generation.current) {
+                setSlotDays(prev => ({ ...prev, [date]: daySlots }));
+            }
+        }).catch(() => {
+            if (current === generation.current) {
+                days.forEach(day => requestedDays.current.delete(day));
+                toast.error('Could not load available times');
+            }
+        });
     }, [selectedET, currentDate, step]);
 
+    const handleSelectSlot = async (slot) => {
+        try {
+            const res = await publicAPI.hold(username, { eventTypeId: selectedET.id, startTime: slot.startTime });
+            setHold(res.data);
+            setSelectedSlot(slot);
+            setStep('book-form');
+        } catch (err) {
+            toast.error(err.response?.data?.message || 'This time slot is no longer available.');
+            const day = slot.startTime.slice(0, 10);
+            setSlotDays(prev => ({ ...prev, [day]: (prev[day] || []).filter(s => s.startTime !== slot.startTime) }));
+        }
+    };
+
+    const handleBackToSlots = () => {
+        if (hold) {
+            publicAPI.releaseHold(username, hold.token).catch(() => {});
+            setHold(null);
+        }
+        setStep('select-slot');
+    };
+
     const handleBook = async (e) => {
         e.preventDefault();
         try {
@@ -51,7 +101,9 @@ export default function PublicBookingPage() {
                 guestEmail: form.guestEmail,
                 startTime: selectedSlot.startTime,
                 notes: form.notes,
+                holdToken: hold?.token,
             });
+            setHold(null);
             setBooking(res.data);
             setStep('success');
             toast.success('Meeting booked! 🎉');
@@ -153,7 +205,7 @@ export default function PublicBookingPage() {
                         ) : (
                             <div style={{ display: 'grid', gridTemplateColumns: 'repeat(auto-fill, minmax(130px, 1fr))', gap: 8 }}>
                                 {slots.map((slot, i) => (
-                                    <button key={i} onClick={() => { setSelectedSlot(slot); setStep('book-form'); }}
+                                    <button key={i} onClick={() => handleSelectSlot(slot)}
                                         style={{
                                             padding: '10px 8px', borderRadius: 10, border: '1px solid var(--border)',
                                             background: 'var(--bg-input)', color: 'var(--text-primary)',
@@ -174,7 +226,7 @@ export default function PublicBookingPage() {
                 {/* Step: Booking Form */}
                 {step === 'book-form' && selectedSlot && (
                     <div className="card">
-                        <button className="btn btn-ghost btn-sm" style={{ marginBottom: 20 }} onClick={() => setStep('select-slot')}>
+                        <button className="btn btn-ghost btn-sm" style={{ marginBottom: 20 }} onClick={handleBackToSlots}>
                             <ChevronLeft size={16} /> Back
                         </button>
                         <h2 style={{ fontSize: 20, fontWeight: 700, marginBottom: 8 }}>Confirm your booking</h2>
@@ -225,10 +277,10 @@ export default function PublicBookingPage() {
                         <div style={{ padding: 20, background: 'var(--bg-input)', borderRadius: 12, border: '1px solid var(--border)', textAlign: 'left', marginBottom: 24 }}>
                             <p style={{ fontWeight: 700, marginBottom: 8 }}>{booking.eventTypeName}</p>
                             <p style={{ color: 'var(--primary-light)' }}>
-                                {format(new Date(booking.startTime), 'EEEE, MMMM d, yyyy')}
+                                {format(parseUtc(booking.startTime), 'EEEE, MMMM d, yyyy')}
                             </p>
                             <p style={{ color: 'var(--primary-light)' }}>
-                                {format(new Date(booking.startTime), 'h:mm a')} – {format(new Date(booking.endTime), 'h:mm a')}
+                                {format(parseUtc(booking.startTime), 'h:mm a')} – {format(parseUtc(booking.endTime), 'h:mm a')}
                             </p>
                             {booking.meetingLink && (
                                 <a href={booking.meetingLink} target="_blank" rel="noreferrer"
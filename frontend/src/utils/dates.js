@@ -0,0 +1,5 @@
+// Booking times from the API are UTC wall-clock values without an offset
+export const parseUtc = (value) => new Date(`${value}Z`);
+
+// The browser's IANA zone; the public booking API renders slots in it
+export const guestTimeZone = () => Intl.DateTimeFormat().resolvedOptions().timeZone;
@@ -3,6 +3,7 @@
 -- ============================================================
 
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
+CREATE EXTENSION IF NOT EXISTS btree_gist;
 
 -- Users Table
 CREATE TABLE IF NOT EXISTS users (
@@ -34,6 +35,8 @@ CREATE TABLE IF NOT EXISTS event_types (
     buffer_after INT DEFAULT 0,
     active BOOLEAN DEFAULT TRUE,
     color VARCHAR(20) DEFAULT '#3B82F6',
+    team_id BIGINT,
+    scheduling_type VARCHAR(20) DEFAULT 'INDIVIDUAL',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -62,21 +65,47 @@ CREATE TABLE IF NOT EXISTS bookings (
     event_type_id BIGINT NOT NULL REFERENCES event_types(id),
     guest_name VARCHAR(255) NOT NULL,
     guest_email VARCHAR(255) NOT NULL,
+    guest_timezone VARCHAR(100),
     start_time TIMESTAMP NOT NULL,
     end_time TIMESTAMP NOT NULL,
     status VARCHAR(50) DEFAULT 'BOOKED',
     notes TEXT,
     meeting_link VARCHAR(500),
+    meeting_id VARCHAR(36),
     cancellation_reason TEXT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
-CREATE INDEX IF NOT EXISTS idx_bookings_host_id ON bookings(host_id);
+CREATE INDEX IF NOT EXISTS idx_bookings_host_start_id ON bookings(host_id, start_time, id);
 CREATE INDEX IF NOT EXISTS idx_bookings_start_time ON bookings(start_time);
 CREATE INDEX IF NOT EXISTS idx_bookings_status ON bookings(status);
--- Prevent double booking at DB level
-CREATE UNIQUE INDEX IF NOT EXISTS idx_bookings_no_overlap ON bookings(host_id, start_time) WHERE status = 'BOOKED';
+CREATE INDEX IF NOT EXISTS idx_bookings_meeting_id ON bookings(meeting_id) WHERE meeting_id IS NOT NULL;
+-- Prevent double booking at DB level, including partially overlapping bookings
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'bookings_no_overlap') THEN
+        ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap
+            EXCLUDE USING gist (host_id WITH =, tsrange(start_time, end_time) WITH &&)
+            WHERE (status = 'BOOKED');
+    END IF;
+END $$;
+
+-- Slot Holds Table (short reservations while a guest fills in the booking form)
+CREATE TABLE IF NOT EXISTS slot_holds (
+    id BIGSERIAL PRIMARY KEY,
+    host_id BIGINT NOT NULL,
+    event_type_id BIGINT NOT NULL,
+    token VARCHAR(255) NOT NULL UNIQUE,
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT slot_holds_no_overlap
+        EXCLUDE USING gist (host_id WITH =, tsrange(start_time, end_time) WITH &&)
+);
+
+CREATE INDEX IF NOT EXISTS idx_slot_holds_host_expires ON slot_holds(host_id, expires_at);
 
 -- Integrations Table
 CREATE TABLE IF NOT EXISTS integrations (
@@ -106,6 +135,24 @@ CREATE TABLE IF NOT EXISTS email_logs (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Email Outbox Table (written with the booking, delivered by EmailOutboxWorker)
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    recipient_email VARCHAR(255) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    body TEXT,
+    email_type VARCHAR(100),
+    booking_id BIGINT,
+    status VARCHAR(50) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due ON email_outbox(status, next_attempt_at);
+
 -- Subscriptions Table
 CREATE TABLE IF NOT EXISTS subscriptions (
     id BIGSERIAL PRIMARY KEY,
@@ -153,6 +200,19 @@ CREATE TABLE IF NOT EXISTS team_members (
     UNIQUE(team_id, user_id)
 );
 
+ALTER TABLE event_types DROP CONSTRAINT IF EXISTS fk_event_types_team;
+ALTER TABLE event_types ADD CONSTRAINT fk_event_types_team FOREIGN KEY (team_id) REFERENCES teams(id) ON DELETE SET NULL;
+
+-- One-off data migrations applied by the backend (SchemaMigrations); a fresh
+-- database has nothing to migrate
+CREATE TABLE IF NOT EXISTS data_migrations (
+    name VARCHAR(100) PRIMARY KEY,
+    applied_at TIMESTAMP NOT NULL
+);
+INSERT INTO data_migrations (name, applied_at)
+VALUES ('booking_times_utc', now() AT TIME ZONE 'UTC')
+ON CONFLICT (name) DO NOTHING;
+
 -- Insert default admin user (password: admin123)
 INSERT INTO users (name, email, password, username, role, timezone)
 VALUES ('Admin User', 'admin@calendly.com', '$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iAt6Z5EHsM8lE9lBOsl7iAt6Z5EH', 'admin', 'ADMIN', 'UTC')